@@ -1,13 +1,20 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { subscribeToEvents, debounce } from '../utils/eventStream';
 import PriorityPieChart from './PriorityPieChart';
 import ComplaintColumnChart from './ComplaintColumnChart';
 import './Dashboard.css';
 import './AdminDashboard.css';
 
+const PAGE_SIZE = 25;
+
 const AdminDashboard = () => {
   const [complaints, setComplaints] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  // Read by event handlers, which keep the state of the render that subscribed them.
+  const nextCursorRef = useRef(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [escalatedComplaints, setEscalatedComplaints] = useState([]);
   const [officers, setOfficers] = useState([]);
   const [stats, setStats] = useState({ total: 0, new: 0, inProgress: 0, resolved: 0 });
@@ -21,19 +28,89 @@ const AdminDashboard = () => {
     fetchOfficers();
     fetchStats();
     fetchEscalatedComplaints();
+    // Events name the complaint that changed: only those rows are re-read. A burst larger
+    // than a page, or a resync after missed events, reloads the first page instead.
+    const changed = new Set();
+    let reload = false;
+    const refresh = debounce(() => {
+      if (reload || changed.size > PAGE_SIZE) {
+        fetchComplaints();
+      } else if (changed.size > 0) {
+        refreshComplaints([...changed]);
+      }
+      changed.clear();
+      reload = false;
+      fetchStats();
+      fetchEscalatedComplaints();
+    }, 500);
+    const close = subscribeToEvents({
+      complaint: (event) => {
+        if (event?.complaintId) {
+          changed.add(event.complaintId);
+        } else {
+          reload = true;
+        }
+        refresh();
+      },
+      resync: () => {
+        reload = true;
+        refresh();
+      }
+    });
+    return () => {
+      close();
+      refresh.cancel();
+    };
   }, [filter, priorityFilter]);
 
-  const fetchComplaints = async () => {
+  const matchesFilters = (complaint) =>
+    (filter === 'all' || complaint.status === filter) &&
+    (priorityFilter === 'all' || complaint.priority === priorityFilter);
+
+  const newestFirst = (a, b) =>
+    new Date(b.createdAt) - new Date(a.createdAt) || b.id - a.id;
+
+  // Re-reads the given complaints and merges them into the loaded rows: changed rows are
+  // replaced, rows that no longer match the filters leave, and matching rows that were not
+  // loaded are added if they fall within the pages loaded so far.
+  const refreshComplaints = async (ids) => {
+    const fresh = await Promise.all(ids.map(id =>
+      api.get(`/api/complaints/${id}`).then(response => response.data).catch(error =>
+        error.response?.status === 404 ? null : undefined)));
+    setComplaints(prev => {
+      let rows = prev;
+      ids.forEach((id, i) => {
+        const complaint = fresh[i];
+        if (complaint === undefined) {
+          return;
+        }
+        const loaded = rows.some(c => c.id === id);
+        if (complaint === null || !matchesFilters(complaint)) {
+          rows = loaded ? rows.filter(c => c.id !== id) : rows;
+        } else if (loaded) {
+          rows = rows.map(c => (c.id === id ? complaint : c));
+        } else if (!nextCursorRef.current || rows.length === 0 ||
+                   newestFirst(complaint, rows[rows.length - 1]) < 0) {
+          rows = [...rows, complaint].sort(newestFirst);
+        }
+      });
+      return rows;
+    });
+  };
+
+  // Loads one page of complaints, newest first, filtered by the server. Without a cursor
+  // the list starts over at the first page; with one the page is appended.
+  const fetchComplaints = async (cursor = null) => {
     try {
-      const response = await api.get('/api/admin/complaints');
-      let filteredComplaints = response.data;
-      if (filter !== 'all') {
-        filteredComplaints = filteredComplaints.filter(c => c.status === filter);
-      }
-      if (priorityFilter !== 'all') {
-        filteredComplaints = filteredComplaints.filter(c => c.priority === priorityFilter);
-      }
-      setComplaints(filteredComplaints);
+      const params = { size: PAGE_SIZE };
+      if (filter !== 'all') params.status = filter;
+      if (priorityFilter !== 'all') params.priority = priorityFilter;
+      if (cursor) params.cursor = cursor;
+      const response = await api.get('/api/admin/complaints/page', { params });
+      const { items, nextCursor: next } = response.data;
+      setComplaints(prev => (cursor ? [...prev, ...items] : items));
+      setNextCursor(next);
+      nextCursorRef.current = next;
     } catch (error) {
       console.error('Error fetching complaints from database:', error);
       
@@ -44,7 +121,7 @@ const AdminDashboard = () => {
           description: 'No water supply for 3 days in our area',
           category: 'Water',
           priority: 'High',
-          status: 'New',
+          status: 'NEW',
           submissionType: 'Public',
           createdAt: new Date().toISOString(),
           assignedTo: null,
@@ -80,7 +157,7 @@ const AdminDashboard = () => {
           description: 'Garbage not collected for 5 days',
           category: 'Sanitation',
           priority: 'High',
-          status: 'Resolved',
+          status: 'RESOLVED',
           submissionType: 'Public',
           createdAt: new Date(Date.now() - 5 * 24 * 60 * 60 * 1000).toISOString(),
           assignedTo: { id: 1, username: 'officer1' },
@@ -92,7 +169,7 @@ const AdminDashboard = () => {
           description: 'Traffic light stuck on red for 2 hours',
           category: 'Traffic',
           priority: 'High',
-          status: 'New',
+          status: 'NEW',
           submissionType: 'Public',
           createdAt: new Date(Date.now() - 4 * 60 * 60 * 1000).toISOString(),
           assignedTo: null,
@@ -108,9 +185,17 @@ const AdminDashboard = () => {
         filteredComplaints = filteredComplaints.filter(c => c.priority === priorityFilter);
       }
       setComplaints(filteredComplaints);
+      setNextCursor(null);
+      nextCursorRef.current = null;
     }
   };
 
+  const loadMoreComplaints = async () => {
+    setLoadingMore(true);
+    await fetchComplaints(nextCursor);
+    setLoadingMore(false);
+  };
+
   const fetchOfficers = async () => {
     try {
       const response = await api.get('/api/admin/officers');
@@ -186,7 +271,7 @@ const AdminDashboard = () => {
       const officer = officers.find(o => o.id == officerId);
       setMessage(`Complaint #${complaintId} assigned to ${officer?.username || 'Officer'}`);
       
-      fetchComplaints();
+      refreshComplaints([complaintId]);
       setTimeout(() => setMessage(''), 3000);
     } catch (error) {
       console.error('Error assigning complaint:', error);
@@ -200,7 +285,7 @@ const AdminDashboard = () => {
       await api.put(`/api/admin/complaints/${complaintId}/status`, { status: newStatus });
       setMessage(`Complaint #${complaintId} status updated to ${newStatus}`);
       
-      fetchComplaints();
+      refreshComplaints([complaintId]);
       fetchStats();
       fetchEscalatedComplaints();
       setTimeout(() => setMessage(''), 3000);
@@ -337,13 +422,13 @@ const AdminDashboard = () => {
 
         <div className="dashboard-card">
           <div className="card-header">
-            <h2>All Complaints ({complaints.length})</h2>
+            <h2>All Complaints ({complaints.length}{nextCursor ? '+' : ''})</h2>
             <div className="filter-controls">
               <select value={filter} onChange={(e) => setFilter(e.target.value)} className="filter-select">
                 <option value="all">All Status</option>
                 <option value="NEW">NEW</option>
                 <option value="IN PROGRESS">IN PROGRESS</option>
-                <option value="Resolved">Resolved</option>
+                <option value="RESOLVED">Resolved</option>
               </select>
               <select value={priorityFilter} onChange={(e) => setPriorityFilter(e.target.value)} className="filter-select">
                 <option value="all">All Priority</option>
@@ -396,7 +481,7 @@ const AdminDashboard = () => {
                         </option>
                       ))}
                     </select>
-                    {complaint.status === 'Resolved' ? (
+                    {complaint.status === 'RESOLVED' ? (
                       <button 
                         onClick={() => handleStatusUpdate(complaint.id, 'IN PROGRESS')}
                         className="unresolve-btn"
@@ -408,7 +493,7 @@ const AdminDashboard = () => {
                       </button>
                     ) : (
                       <button 
-                        onClick={() => handleStatusUpdate(complaint.id, 'Resolved')}
+                        onClick={() => handleStatusUpdate(complaint.id, 'RESOLVED')}
                         className="resolve-btn"
                       >
                         <svg width="16" height="16" viewBox="0 0 24 24" fill="none" stroke="currentColor" strokeWidth="2">
@@ -421,6 +506,11 @@ const AdminDashboard = () => {
                 </div>
               ))
             )}
+            {nextCursor && (
+              <button onClick={loadMoreComplaints} disabled={loadingMore} className="load-more-btn">
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            )}
           </div>
         </div>
       </div>
@@ -1,6 +1,8 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { fetchThread, fetchNewMessages, appendMessages } from '../utils/messageThread';
+import { subscribeToEvents } from '../utils/eventStream';
 import './ComplaintStatus.css';
 
 const ComplaintStatus = () => {
@@ -13,10 +15,19 @@ const ComplaintStatus = () => {
   const [message, setMessage] = useState('');
   const [messages, setMessages] = useState([]);
   const [newMessage, setNewMessage] = useState('');
+  const messagesCursor = useRef(null);
 
   useEffect(() => {
     fetchComplaintDetails();
     fetchMessages();
+    return subscribeToEvents({
+      complaint: fetchComplaintDetails,
+      message: fetchNewMessagesOnly,
+      resync: () => {
+        fetchComplaintDetails();
+        fetchNewMessagesOnly();
+      }
+    }, [complaintId]);
   }, [complaintId]);
 
   const fetchComplaintDetails = async () => {
@@ -61,17 +72,29 @@ const ComplaintStatus = () => {
     }
   };
 
+  const messagesUrl = () => `/api/messages/complaint/${complaintId}/user/${sessionStorage.getItem('userId')}`;
+
   const fetchMessages = async () => {
     try {
-      const userId = sessionStorage.getItem('userId');
-      const response = await api.get(`/api/messages/complaint/${complaintId}/user/${userId}`);
-      setMessages(response.data);
+      const thread = await fetchThread(messagesUrl());
+      setMessages(thread.messages);
+      messagesCursor.current = thread.cursor;
     } catch (error) {
       console.error('Error fetching messages:', error);
       setMessages([]);
     }
   };
 
+  const fetchNewMessagesOnly = async () => {
+    try {
+      const update = await fetchNewMessages(messagesUrl(), messagesCursor.current);
+      setMessages(prev => appendMessages(prev, update.messages));
+      messagesCursor.current = update.cursor;
+    } catch (error) {
+      console.error('Error fetching messages:', error);
+    }
+  };
+
   const handleSendMessage = async (e) => {
     e.preventDefault();
     if (!newMessage.trim()) return;
@@ -85,7 +108,7 @@ const ComplaintStatus = () => {
       };
 
       await api.post('/api/messages/send', messageData);
-      fetchMessages();
+      fetchNewMessagesOnly();
       setMessage('Message sent successfully');
       setNewMessage('');
       setTimeout(() => setMessage(''), 3000);
@@ -162,14 +185,23 @@ const ComplaintStatus = () => {
 
   const handleSaveEdit = async () => {
     try {
-      await api.put(`/api/complaints/${complaintId}`, editedComplaint);
-      setComplaint(prev => ({ ...prev, ...editedComplaint }));
+      // The version makes the edit fail instead of overwriting a change made meanwhile.
+      await api.put(`/api/complaints/${complaintId}`, editedComplaint, {
+        params: { version: complaint.version }
+      });
       setMessage('Complaint updated successfully!');
       setIsEditing(false);
+      fetchComplaintDetails();
       setTimeout(() => setMessage(''), 3000);
     } catch (error) {
       console.error('Error updating complaint:', error);
-      setMessage('Failed to update complaint. Please try again.');
+      if (error.response?.status === 409) {
+        setMessage('This complaint was changed meanwhile. Review the latest version and edit again.');
+        setIsEditing(false);
+        fetchComplaintDetails();
+      } else {
+        setMessage('Failed to update complaint. Please try again.');
+      }
       setTimeout(() => setMessage(''), 3000);
     }
   };
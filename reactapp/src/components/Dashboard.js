@@ -136,7 +136,7 @@ const Dashboard = () => {
                     </div>
                     <div className="meta-right">
                       <span>Priority: {complaint.priority || 'Medium'}</span>
-                      <span>Status: {complaint.status || 'New'}</span>
+                      <span>Status: {complaint.status || 'NEW'}</span>
                     </div>
                   </div>
                 </div>
@@ -71,13 +71,13 @@ const EscalationDetail = () => {
     }
 
     try {
-      await api.put(`/api/admin/complaints/${id}/status`, { status: 'Resolved' });
-      setComplaint(prev => ({ ...prev, status: 'Resolved' }));
+      await api.put(`/api/admin/complaints/${id}/status`, { status: 'RESOLVED' });
+      setComplaint(prev => ({ ...prev, status: 'RESOLVED' }));
       setMessage('Complaint has been escalated and marked as resolved');
     } catch (error) {
       console.error('Error updating complaint status:', error);
       // Simulate status change for demo
-      setComplaint(prev => ({ ...prev, status: 'Resolved' }));
+      setComplaint(prev => ({ ...prev, status: 'RESOLVED' }));
       setMessage('Complaint has been escalated and marked as resolved');
     }
     
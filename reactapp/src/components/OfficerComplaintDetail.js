@@ -1,6 +1,8 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { fetchThread, fetchNewMessages, appendMessages } from '../utils/messageThread';
+import { subscribeToEvents } from '../utils/eventStream';
 import './Dashboard.css';
 import './AdminComplaintDetail.css';
 
@@ -10,17 +12,59 @@ const OfficerComplaintDetail = () => {
   const [complaint, setComplaint] = useState(null);
   const [privateMessages, setPrivateMessages] = useState([]);
   const [publicMessages, setPublicMessages] = useState([]);
+  const privateCursor = useRef(null);
+  const publicCursor = useRef(null);
   const [newPrivateMessage, setNewPrivateMessage] = useState('');
   const [newPublicMessage, setNewPublicMessage] = useState('');
   const [message, setMessage] = useState('');
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
-    fetchComplaintDetail();
-    fetchPrivateMessages();
-    fetchPublicMessages();
+    fetchDetail();
+    return subscribeToEvents({
+      complaint: (event) => {
+        if (event.complaintId === Number(id)) fetchComplaintDetail();
+      },
+      message: (event) => {
+        if (event.messageType === 'PRIVATE') fetchNewPrivateMessages();
+        else fetchNewPublicMessages();
+      },
+      resync: () => {
+        fetchComplaintDetail();
+        fetchNewPrivateMessages();
+        fetchNewPublicMessages();
+      }
+    }, [id]);
   }, [id]);
 
+  // Loads the whole page in one request. Parts the server could not load in time, or the
+  // whole page if the request fails, fall back to the individual endpoints.
+  const fetchDetail = async () => {
+    try {
+      const response = await api.get(`/api/complaints/${id}/detail`);
+      const detail = response.data;
+      setComplaint(detail.complaint);
+      setLoading(false);
+      if (detail.unavailable.includes('privateMessages')) {
+        fetchPrivateMessages();
+      } else {
+        setPrivateMessages(detail.privateMessages);
+        privateCursor.current = detail.privateCursor;
+      }
+      if (detail.unavailable.includes('publicMessages')) {
+        fetchPublicMessages();
+      } else {
+        setPublicMessages(detail.publicMessages);
+        publicCursor.current = detail.publicCursor;
+      }
+    } catch (error) {
+      console.error('Error fetching complaint detail:', error);
+      fetchComplaintDetail();
+      fetchPrivateMessages();
+      fetchPublicMessages();
+    }
+  };
+
   const fetchComplaintDetail = async () => {
     try {
       const response = await api.get(`/api/complaints/${id}`);
@@ -46,24 +90,46 @@ const OfficerComplaintDetail = () => {
 
   const fetchPrivateMessages = async () => {
     try {
-      const response = await api.get(`/api/messages/complaint/${id}/private`);
-      setPrivateMessages(response.data);
+      const thread = await fetchThread(`/api/messages/complaint/${id}/private`);
+      setPrivateMessages(thread.messages);
+      privateCursor.current = thread.cursor;
     } catch (error) {
       console.error('Error fetching private messages:', error);
       setPrivateMessages([]);
     }
   };
 
+  const fetchNewPrivateMessages = async () => {
+    try {
+      const update = await fetchNewMessages(`/api/messages/complaint/${id}/private`, privateCursor.current);
+      setPrivateMessages(prev => appendMessages(prev, update.messages));
+      privateCursor.current = update.cursor;
+    } catch (error) {
+      console.error('Error fetching private messages:', error);
+    }
+  };
+
   const fetchPublicMessages = async () => {
     try {
-      const response = await api.get(`/api/messages/complaint/${id}/public`);
-      setPublicMessages(response.data);
+      const thread = await fetchThread(`/api/messages/complaint/${id}/public`);
+      setPublicMessages(thread.messages);
+      publicCursor.current = thread.cursor;
     } catch (error) {
       console.error('Error fetching public messages:', error);
       setPublicMessages([]);
     }
   };
 
+  const fetchNewPublicMessages = async () => {
+    try {
+      const update = await fetchNewMessages(`/api/messages/complaint/${id}/public`, publicCursor.current);
+      setPublicMessages(prev => appendMessages(prev, update.messages));
+      publicCursor.current = update.cursor;
+    } catch (error) {
+      console.error('Error fetching public messages:', error);
+    }
+  };
+
   const handleStatusUpdate = async (newStatus) => {
     try {
       await api.put(`/api/officer/complaints/${id}/status`, { status: newStatus });
@@ -90,7 +156,7 @@ const OfficerComplaintDetail = () => {
       };
 
       await api.post('/api/messages/send', messageData);
-      fetchPrivateMessages();
+      fetchNewPrivateMessages();
       setMessage('Private message sent successfully');
       setNewPrivateMessage('');
     } catch (error) {
@@ -113,7 +179,7 @@ const OfficerComplaintDetail = () => {
       };
 
       await api.post('/api/messages/send', messageData);
-      fetchPublicMessages();
+      fetchNewPublicMessages();
       setMessage('Public message sent successfully');
       setNewPublicMessage('');
     } catch (error) {
@@ -155,7 +221,7 @@ const OfficerComplaintDetail = () => {
         </div>
         <div className="header-actions">
           <div className="quick-actions">
-            {complaint.status === 'Resolved' ? (
+            {complaint.status === 'RESOLVED' ? (
               <button 
                 onClick={() => handleStatusUpdate('IN PROGRESS')}
                 className="unresolve-btn"
@@ -167,7 +233,7 @@ const OfficerComplaintDetail = () => {
               </button>
             ) : (
               <button 
-                onClick={() => handleStatusUpdate('Resolved')}
+                onClick={() => handleStatusUpdate('RESOLVED')}
                 className="resolve-btn"
               >
                 <svg width="16" height="16" viewBox="0 0 24 24" fill="none" stroke="currentColor" strokeWidth="2">
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { subscribeToEvents, debounce } from '../utils/eventStream';
 import './Dashboard.css';
 import './OfficerDashboard.css';
 
@@ -13,6 +14,9 @@ const OfficerDashboard = () => {
   const navigate = useNavigate();
 
   const isComplaintEscalated = (complaint) => {
+    if (complaint.escalatedAt !== undefined) {
+      return complaint.status === 'IN PROGRESS' && complaint.escalatedAt !== null;
+    }
     const daysSinceCreated = Math.floor((new Date() - new Date(complaint.createdAt)) / (1000 * 60 * 60 * 24));
     return complaint.status === 'IN PROGRESS' && daysSinceCreated > 2;
   };
@@ -20,6 +24,15 @@ const OfficerDashboard = () => {
   useEffect(() => {
     fetchAssignedComplaints();
     fetchStats();
+    const refresh = debounce(() => {
+      fetchAssignedComplaints();
+      fetchStats();
+    }, 500);
+    const close = subscribeToEvents({ complaint: refresh, resync: refresh });
+    return () => {
+      close();
+      refresh.cancel();
+    };
   }, [filter]);
 
   const fetchAssignedComplaints = async () => {
@@ -163,7 +176,7 @@ const OfficerDashboard = () => {
               <select value={filter} onChange={(e) => setFilter(e.target.value)} className="filter-select">
                 <option value="all">All Status</option>
                 <option value="IN PROGRESS">In Progress</option>
-                <option value="Resolved">Resolved</option>
+                <option value="RESOLVED">Resolved</option>
               </select>
             </div>
           </div>
@@ -203,7 +216,7 @@ const OfficerDashboard = () => {
                   </div>
                   
                   <div className="admin-actions">
-                    {complaint.status === 'Resolved' ? (
+                    {complaint.status === 'RESOLVED' ? (
                       <button 
                         onClick={() => handleStatusUpdate(complaint.id, 'IN PROGRESS')}
                         className="unresolve-btn"
@@ -215,7 +228,7 @@ const OfficerDashboard = () => {
                       </button>
                     ) : (
                       <button 
-                        onClick={() => handleStatusUpdate(complaint.id, 'Resolved')}
+                        onClick={() => handleStatusUpdate(complaint.id, 'RESOLVED')}
                         className="resolve-btn"
                       >
                         <svg width="16" height="16" viewBox="0 0 24 24" fill="none" stroke="currentColor" strokeWidth="2">
@@ -67,7 +67,7 @@ const ReportsExports = () => {
         format: exportFormat.toLowerCase()
       };
 
-      const response = await api.get('/api/admin/reports/generate', {
+      const response = await api.get('/api/admin/reports/stream', {
         params,
         responseType: 'blob'
       });
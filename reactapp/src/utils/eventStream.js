@@ -0,0 +1,39 @@
+const EVENTS_URL = 'http://localhost:8080/api/events';
+
+// Opens the server-sent event stream. handlers maps event names (complaint, message,
+// resync) to callbacks that receive the parsed payload. complaintIds limits complaint
+// and message events to those complaints for users who are not staff. The browser
+// reconnects on its own; events missed meanwhile are reported as a resync. Returns a
+// function that closes the stream.
+export const subscribeToEvents = (handlers, complaintIds = []) => {
+  const token = sessionStorage.getItem('token');
+  if (!token || typeof EventSource === 'undefined') {
+    return () => {};
+  }
+  const params = new URLSearchParams({ access_token: token });
+  complaintIds.forEach(id => params.append('complaintId', id));
+
+  const source = new EventSource(`${EVENTS_URL}?${params}`);
+  let opened = false;
+  source.onopen = () => {
+    if (opened && handlers.resync) {
+      handlers.resync(null);
+    }
+    opened = true;
+  };
+  Object.entries(handlers).forEach(([name, handler]) => {
+    source.addEventListener(name, (e) => handler(e.data ? JSON.parse(e.data) : null));
+  });
+  return () => source.close();
+};
+
+// Collapses bursts of calls into one call after the stream has been quiet for wait ms.
+export const debounce = (fn, wait) => {
+  let timer = null;
+  const debounced = () => {
+    clearTimeout(timer);
+    timer = setTimeout(fn, wait);
+  };
+  debounced.cancel = () => clearTimeout(timer);
+  return debounced;
+};
@@ -0,0 +1,37 @@
+import api from './axiosConfig';
+
+const PAGE_SIZE = 200;
+
+// Loads a whole thread, paging back from the newest message. Returns the messages oldest
+// first plus the cursor to hand to fetchNewMessages.
+export const fetchThread = async (url) => {
+  let response = await api.get(url, { params: { limit: PAGE_SIZE } });
+  const cursor = response.data.newestCursor;
+  let messages = response.data.items;
+  while (response.data.hasMore) {
+    response = await api.get(url, { params: { limit: PAGE_SIZE, before: response.data.oldestCursor } });
+    messages = [...response.data.items, ...messages];
+  }
+  return { messages, cursor };
+};
+
+// Fetches the messages posted after the cursor. The server also returns again those from
+// the few seconds before it, so pass the result through appendMessages.
+export const fetchNewMessages = async (url, cursor) => {
+  let response = await api.get(url, { params: { limit: PAGE_SIZE, since: cursor || '' } });
+  let messages = response.data.items;
+  while (response.data.hasMore) {
+    response = await api.get(url, { params: { limit: PAGE_SIZE, since: response.data.newestCursor } });
+    messages = [...messages, ...response.data.items];
+  }
+  return { messages, cursor: response.data.newestCursor };
+};
+
+// Appends fetched messages, skipping any already shown or fetched twice. A push event and
+// the sender's own refresh can fetch the same new message, and each page of
+// fetchNewMessages repeats the messages just before its cursor.
+export const appendMessages = (existing, incoming) => {
+  const seen = new Set(existing.map(m => m.id));
+  const added = incoming.filter(m => !seen.has(m.id) && seen.add(m.id));
+  return [...existing, ...added];
+};
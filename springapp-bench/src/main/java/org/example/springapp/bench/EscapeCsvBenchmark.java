@@ -0,0 +1,49 @@
+package org.example.springapp.bench;
+
+import org.example.springapp.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReportService#escapeCSV} on a typical subject, one with characters that need
+ * replacing, and a long free-text description.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapeCsvBenchmark {
+
+    @Param({"plain", "quoted", "long"})
+    public String input;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (input) {
+            case "plain" -> "Streetlight not working near the main bus stop";
+            case "quoted" -> "Leak at \"Block C\"\nreported twice\r\nstill open";
+            case "long" -> "No water supply in our area for the past three days. ".repeat(40);
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public String escapeCSV() {
+        return ReportService.escapeCSV(value);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.springapp.bench;
+
+import jakarta.annotation.PostConstruct;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Sets {@code @Autowired} fields on beans the benchmarks construct without a Spring context,
+ * and runs their {@code @PostConstruct} methods once the fields are set.
+ */
+final class Fields {
+
+    private Fields() {
+    }
+
+    static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    static void init(Object target) throws ReflectiveOperationException {
+        for (Method method : target.getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                method.setAccessible(true);
+                method.invoke(target);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.springapp.bench;
+
+import org.example.springapp.util.RingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What recording a history entry costs a request: three producer threads append to the
+ * buffer while one writer drains it, for the lock-free {@link RingBuffer} used by the
+ * complaint history and for an {@link ArrayBlockingQueue}, whose producers and consumer
+ * share one lock. Producers drop the entry when the buffer is full, as the service does.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBufferBenchmark {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 500;
+    private static final Object ENTRY = new Object();
+
+    private RingBuffer<Object> ring;
+    private ArrayBlockingQueue<Object> queue;
+    private final List<Object> batch = new ArrayList<>(BATCH);
+
+    @Setup
+    public void setUp() {
+        ring = new RingBuffer<>(CAPACITY);
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(3)
+    public boolean ringOffer() {
+        return ring.offer(ENTRY);
+    }
+
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(1)
+    public void ringDrain(Blackhole blackhole) {
+        blackhole.consume(ring.drainTo(blackhole::consume, BATCH));
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(3)
+    public boolean queueOffer() {
+        return queue.offer(ENTRY);
+    }
+
+    @Benchmark
+    @Group("blockingQueue")
+    @GroupThreads(1)
+    public void queueDrain(Blackhole blackhole) {
+        batch.clear();
+        blackhole.consume(queue.drainTo(batch, BATCH));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.springapp.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springapp.dto.ComplaintView;
+import org.example.springapp.dto.MessageView;
+import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of complaint lists and message threads, as entity graphs (what
+ * the API returned before the DTOs) and as the view records it returns now. Views are
+ * mapped inside the benchmark because the controllers map on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "200"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Complaint> complaints;
+    private List<Message> thread;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the application's ObjectMapper.
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        complaints = SampleData.complaints(size);
+        thread = SampleData.thread(size);
+    }
+
+    @Benchmark
+    public byte[] complaintEntities() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(complaints);
+    }
+
+    @Benchmark
+    public byte[] complaintViews() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(complaints.stream().map(ComplaintView::of).toList());
+    }
+
+    @Benchmark
+    public byte[] messageEntities() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(thread);
+    }
+
+    @Benchmark
+    public byte[] messageViews() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(thread.stream().map(MessageView::of).toList());
+    }
+}
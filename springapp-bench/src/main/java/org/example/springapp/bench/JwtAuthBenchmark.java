@@ -0,0 +1,110 @@
+package org.example.springapp.bench;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springapp.filter.JwtAuthenticationFilter;
+import org.example.springapp.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import jakarta.servlet.ServletException;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: the original filter path, which
+ * verified the token four times with a fresh parser each time, against a single
+ * verification and against a cache hit. Also covers issuing a token at login and the
+ * whole {@link JwtAuthenticationFilter}, including building the authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor("mySecretKey123456789012345678901234567890".getBytes());
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        uncached = new JwtUtil(0);
+        cached = new JwtUtil();
+        token = cached.generateToken("officer1", "officer");
+        cached.parseToken(token);
+        filter = new JwtAuthenticationFilter();
+        Fields.set(filter, "jwtUtil", cached);
+        Fields.set(filter, "meterRegistry", new SimpleMeterRegistry());
+        Fields.init(filter);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("officer1", "officer");
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        // extractUsername, validateToken (username + expiration), extractRole
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+        bh.consume(valid);
+        bh.consume(legacyParse(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole bh) {
+        Claims claims = uncached.parseToken(token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get("role", String.class));
+    }
+
+    @Benchmark
+    public void parseCached(Blackhole bh) {
+        Claims claims = cached.parseToken(token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get("role", String.class));
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * The filter as it runs on every authenticated request, with a cached token. Includes
+     * creating the mock request, which is small next to the filter itself.
+     */
+    @Benchmark
+    public void filter(Blackhole bh) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/complaints/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
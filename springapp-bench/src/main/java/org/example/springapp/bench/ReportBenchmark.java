@@ -0,0 +1,92 @@
+package org.example.springapp.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springapp.dto.ComplaintReportRow;
+import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end CSV and PDF report rendering through {@link ReportService}, with rows served
+ * from memory instead of the database so only formatting and writing are measured. The
+ * output goes to a stream that only counts bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReportBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        List<ComplaintReportRow> data = SampleData.reportRows(rows);
+        ComplaintRepository repository = (ComplaintRepository) Proxy.newProxyInstance(
+                ComplaintRepository.class.getClassLoader(), new Class<?>[]{ComplaintRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamReportRows" -> data.stream();
+                    case "countReportRows" -> (long) data.size();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        reportService = new ReportService();
+        Fields.set(reportService, "complaintRepository", repository);
+        Fields.set(reportService, "meterRegistry", new SimpleMeterRegistry());
+        Fields.init(reportService);
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reportService.writeCsv(START, END, List.of(), out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long pdf() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reportService.writePdf(START, END, List.of(), out);
+        return out.count;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
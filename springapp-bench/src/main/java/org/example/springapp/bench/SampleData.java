@@ -0,0 +1,107 @@
+package org.example.springapp.bench;
+
+import org.example.springapp.dto.ComplaintReportRow;
+import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.Message;
+import org.example.springapp.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic synthetic data for the benchmarks. Strings and timestamps come from small
+ * pools so a million report rows stay within a modest heap.
+ */
+final class SampleData {
+
+    private static final String[] SUBJECTS = {
+            "Streetlight not working near the main bus stop",
+            "No water supply in Sector 15 for three days",
+            "Garbage not collected, \"urgent\" per residents",
+            "Potholes on Main Street\ncausing accidents",
+            "Frequent power cuts in the evening",
+    };
+    private static final String[] CATEGORIES = {"Water", "Roads", "Electricity", "Sanitation", "General"};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+    private static final String[] STATUSES = {"NEW", "IN PROGRESS", "RESOLVED"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final int USER_POOL = 500;
+    private static final int TIME_POOL = 365 * 24;
+
+    private SampleData() {
+    }
+
+    static List<ComplaintReportRow> reportRows(int count) {
+        LocalDateTime[] times = new LocalDateTime[TIME_POOL];
+        for (int i = 0; i < TIME_POOL; i++) {
+            times[i] = BASE.plusHours(i);
+        }
+        String[] users = new String[USER_POOL];
+        for (int i = 0; i < USER_POOL; i++) {
+            users[i] = "citizen" + i;
+        }
+        List<ComplaintReportRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new ComplaintReportRow((long) i + 1, SUBJECTS[i % SUBJECTS.length],
+                    CATEGORIES[i % CATEGORIES.length], PRIORITIES[i % PRIORITIES.length],
+                    STATUSES[i % STATUSES.length], i % 7 == 0 ? "Anonymous" : "Public",
+                    times[(int) ((long) i * TIME_POOL / count)],
+                    i % 7 == 0 ? null : users[i % USER_POOL],
+                    i % 3 == 0 ? null : "officer" + i % 10));
+        }
+        return rows;
+    }
+
+    static User user(long id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(role + id);
+        user.setPassword("secret" + id);
+        user.setEmail(role + id + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+
+    static List<Complaint> complaints(int count) {
+        List<Complaint> complaints = new ArrayList<>(count);
+        User officer = user(1, "officer");
+        for (int i = 0; i < count; i++) {
+            Complaint complaint = new Complaint();
+            complaint.setId((long) i + 1);
+            complaint.setSubject(SUBJECTS[i % SUBJECTS.length]);
+            complaint.setDescription("No water supply in our area for the past three days. ".repeat(4));
+            complaint.setSubmissionType("Public");
+            complaint.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            complaint.setPriority(PRIORITIES[i % PRIORITIES.length]);
+            complaint.setStatus(STATUSES[i % STATUSES.length]);
+            complaint.setCreatedAt(BASE.plusHours(i));
+            complaint.setUser(user(100 + i % USER_POOL, "user"));
+            complaint.setAssignedTo(i % 3 == 0 ? null : officer);
+            complaints.add(complaint);
+        }
+        return complaints;
+    }
+
+    /**
+     * A single complaint thread alternating between the citizen and the officer.
+     */
+    static List<Message> thread(int count) {
+        Complaint complaint = complaints(1).get(0);
+        User citizen = complaint.getUser();
+        User officer = user(1, "officer");
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Message message = new Message();
+            message.setId((long) i + 1);
+            message.setComplaint(complaint);
+            message.setContent("Update " + i + ": the team has inspected the site and will report back.");
+            message.setMessageType("PUBLIC");
+            message.setCreatedAt(BASE.plusMinutes(i));
+            message.setSender(i % 2 == 0 ? citizen : officer);
+            message.setRecipient(i % 2 == 0 ? officer : citizen);
+            messages.add(message);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Runs the same load against springapp with platform request threads and with virtual
+# threads, then prints throughput and p99 per endpoint side by side. The app uses its
+# configured database; override it with SPRING_DATASOURCE_URL and friends.
+#
+#   CONCURRENCY=400 DURATION=PT60S ./compare-thread-modes.sh
+#   WORKLOAD=roles ./compare-thread-modes.sh
+set -euo pipefail
+cd "$(dirname "$0")"
+
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-PT60S}
+WARMUP=${WARMUP:-PT15S}
+PORT=${PORT:-8080}
+WORKLOAD=${WORKLOAD:-messages}
+
+(cd ../springapp && mvn -B -q -DskipTests package)
+mvn -B -q package
+APP_JAR=$(ls ../springapp/target/springapp-*.jar | grep -v '\.original$' | head -1)
+
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+for mode in platform virtual; do
+  virtual=false
+  [ "$mode" = virtual ] && virtual=true
+  java -jar "$APP_JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+      > "target/app-$mode.log" 2>&1 &
+  APP_PID=$!
+  until curl -s -o /dev/null "http://localhost:$PORT/api/auth/login"; do
+    kill -0 "$APP_PID" || { echo "springapp failed to start, see target/app-$mode.log"; exit 1; }
+    sleep 1
+  done
+
+  java -jar target/loadtest.jar --base-url="http://localhost:$PORT" --label="$mode" \
+      --workload="$WORKLOAD" --concurrency="$CONCURRENCY" --duration="$DURATION" --warmup="$WARMUP" \
+      --output="target/results-$mode.json"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+  APP_PID=
+done
+
+echo
+java -jar target/loadtest.jar --compare=target/results-platform.json,target/results-virtual.json
@@ -0,0 +1,127 @@
+package org.example.springapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin HTTP client for the springapp REST API. Requests carry the caller's JWT when one
+ * is given; responses are returned as status plus body so the caller decides what counts
+ * as an error.
+ */
+public class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient http;
+
+    public ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        // Responses are handled on virtual threads so the client is never the bottleneck.
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public record Response(int status, String body) {
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode json() {
+            try {
+                return MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Response is not JSON: " + body, e);
+            }
+        }
+    }
+
+    public Response get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    /**
+     * GETs a file download, reading the whole body but not keeping it; the response body
+     * is empty.
+     */
+    public Response download(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<Void> response = http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return new Response(response.statusCode(), "");
+    }
+
+    public Response postJson(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build();
+        return send(request);
+    }
+
+    public Response putJson(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build();
+        return send(request);
+    }
+
+    /**
+     * Posts a multipart/form-data body. Values of type {@link FilePart} are sent as file
+     * parts, everything else as text fields.
+     */
+    public Response postMultipart(String path, String token, Map<String, ?> fields) throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            body.write(("--" + boundary + "\r\n").getBytes(StandardCharsets.UTF_8));
+            if (field.getValue() instanceof FilePart file) {
+                body.write(("Content-Disposition: form-data; name=\"" + field.getKey() + "\"; filename=\""
+                        + file.fileName() + "\"\r\nContent-Type: " + file.contentType() + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                body.write(file.content());
+            } else {
+                body.write(("Content-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n" + field.getValue())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return send(request);
+    }
+
+    public record FilePart(String fileName, String contentType, byte[] content) {
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+}
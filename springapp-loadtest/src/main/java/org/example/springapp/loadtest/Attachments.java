@@ -0,0 +1,51 @@
+package org.example.springapp.loadtest;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Photo attachments for submitted complaints. Every attachment is a decodable JPEG, so
+ * the backend generates a thumbnail for it, padded with random bytes after the end of the
+ * image up to the requested size. The padding makes each attachment unique, so the
+ * content-addressed store writes every one instead of deduplicating them.
+ */
+public final class Attachments {
+
+    private static final byte[] PHOTO = renderPhoto();
+
+    private Attachments() {
+    }
+
+    public static ApiClient.FilePart photo(int sizeBytes, Random random) {
+        byte[] content = Arrays.copyOf(PHOTO, Math.max(PHOTO.length + 16, sizeBytes));
+        byte[] padding = new byte[content.length - PHOTO.length];
+        random.nextBytes(padding);
+        System.arraycopy(padding, 0, content, PHOTO.length, padding.length);
+        return new ApiClient.FilePart("photo.jpg", "image/jpeg", content);
+    }
+
+    private static byte[] renderPhoto() {
+        BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillRect(random.nextInt(640), random.nextInt(480), 20 + random.nextInt(120), 20 + random.nextInt(120));
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.springapp.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The users and complaints a run works against, as created by {@link Seeder}. Complaints
+ * are indexed by the citizen who filed them and by the officer they are assigned to, so
+ * each role's workload can stay on data that role would actually see.
+ */
+public record Dataset(Account admin,
+                      List<Account> officers,
+                      List<Account> citizens,
+                      List<Long> complaintIds,
+                      Map<Long, Account> complaintOwners,
+                      Map<Long, Account> complaintAssignees,
+                      Map<Long, List<Long>> complaintsByCitizen,
+                      Map<Long, List<Long>> complaintsByOfficer) {
+
+    public record Account(Long id, String username, String token) {
+    }
+
+    /**
+     * The officer used by workloads that act as a single staff member.
+     */
+    public Account officer() {
+        return officers.get(0);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.springapp.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency samples of one worker, per endpoint. Each worker owns its recorder, so
+ * recording needs no synchronization; recorders are merged once the run is over.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean error) {
+        samples.computeIfAbsent(endpoint, k -> new Samples()).add(latencyNanos, error);
+    }
+
+    public void mergeInto(LatencyRecorder target) {
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            target.samples.computeIfAbsent(entry.getKey(), k -> new Samples()).addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Per-endpoint summaries plus an "all" entry covering every request.
+     */
+    public Map<String, Summary> summarize(double seconds) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        Samples all = new Samples();
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            summaries.put(entry.getKey(), entry.getValue().summarize(seconds));
+            all.addAll(entry.getValue());
+        }
+        summaries.put("all", all.summarize(seconds));
+        return summaries;
+    }
+
+    public record Summary(long requests, long errors, double throughput, double errorRate,
+                          double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long latencyNanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Summary summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(count, errors, count / seconds, count == 0 ? 0 : (double) errors / count,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.springapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load generator for a running springapp. Seeds a dataset through the
+ * API, then runs a fixed number of concurrent workers, each issuing its next request as
+ * soon as the previous one completes (plus the think time, if any), and reports
+ * throughput, latency percentiles and error rate per endpoint. Samples taken during the
+ * warmup are discarded.
+ *
+ * <p>The default {@code roles} workload splits the workers between citizens, officers and
+ * admins according to {@code --mix}; the {@code messages} workload runs every worker on the
+ * complaint and message reads of the detail pages.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --base-url=http://localhost:8080 --concurrency=200 \
+ *     --mix=citizen:60,officer:25,admin:15 --attachment-kb=256 --duration=PT60S \
+ *     --output=target/results.json
+ * java -jar target/loadtest.jar --compare=target/results-platform.json,target/results-virtual.json
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("compare")) {
+            String[] files = options.get("compare").split(",");
+            compare(MAPPER.readTree(new File(files[0])), MAPPER.readTree(new File(files[1])));
+            return;
+        }
+
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration thinkTime = Duration.parse(options.getOrDefault("think-time", "PT0S"));
+        String workloadName = options.getOrDefault("workload", "roles");
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "citizen:60,officer:25,admin:15"));
+        int attachmentBytes = Integer.parseInt(options.getOrDefault("attachment-kb", "256")) * 1024;
+        int citizens = Integer.parseInt(options.getOrDefault("citizens", "50"));
+        int officers = Integer.parseInt(options.getOrDefault("officers", "5"));
+        int complaints = Integer.parseInt(options.getOrDefault("complaints", "200"));
+        int messages = Integer.parseInt(options.getOrDefault("messages-per-complaint", "20"));
+        String label = options.getOrDefault("label", "run");
+        String output = options.get("output");
+
+        ApiClient api = new ApiClient(baseUrl, Duration.ofSeconds(30));
+        String prefix = "lt" + Long.toString(System.currentTimeMillis(), 36);
+        System.out.printf("Seeding %d citizens, %d officers, %d complaints, %d messages each%n",
+                citizens, officers, complaints, messages);
+        Seeder seeder = new Seeder(api, prefix);
+        Dataset dataset = seeder.seed(citizens, officers, complaints, messages, 16);
+
+        Map<String, Workload> roles = new LinkedHashMap<>();
+        if ("messages".equals(workloadName)) {
+            roles.put("messages", Workload.complaintsAndMessages(api, dataset));
+            mix = Map.of("messages", 1);
+        } else if ("roles".equals(workloadName)) {
+            roles.put("citizen", Workload.citizen(api, dataset, attachmentBytes));
+            roles.put("officer", Workload.officer(api, dataset));
+            roles.put("admin", Workload.admin(api, dataset));
+        } else {
+            throw new IllegalArgumentException("Unknown workload " + workloadName + ", expected roles or messages");
+        }
+        List<Workload> workers = assignWorkers(roles, mix, concurrency);
+        System.out.printf("Running %s: %d workers (%s) for %s after %s warmup against %s%n",
+                label, workers.size(), mix, duration, warmup, baseUrl);
+        LatencyRecorder recorder = run(workers, thinkTime, warmup, duration);
+
+        Map<String, LatencyRecorder.Summary> summaries = recorder.summarize(duration.toMillis() / 1000.0);
+        print(label, summaries);
+        if (output != null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("label", label);
+            result.put("baseUrl", baseUrl);
+            result.put("workload", workloadName);
+            result.put("mix", mix);
+            result.put("concurrency", workers.size());
+            result.put("thinkTimeMillis", thinkTime.toMillis());
+            result.put("dataset", Map.of("citizens", citizens, "officers", officers, "complaints", complaints,
+                    "messagesPerComplaint", messages, "attachmentBytes", attachmentBytes));
+            result.put("durationSeconds", duration.toSeconds());
+            result.put("warmupSeconds", warmup.toSeconds());
+            result.put("endpoints", summaries);
+            File file = new File(output);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            MAPPER.writeValue(file, result);
+            System.out.println("Results written to " + output);
+        }
+    }
+
+    /**
+     * Splits the workers between the roles in proportion to their share of the mix. Every
+     * role with a share gets at least one worker.
+     */
+    static List<Workload> assignWorkers(Map<String, Workload> roles, Map<String, Integer> mix, int concurrency) {
+        int totalShare = mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<Workload> workers = new ArrayList<>();
+        for (Map.Entry<String, Integer> share : mix.entrySet()) {
+            Workload workload = roles.get(share.getKey());
+            if (workload == null) {
+                throw new IllegalArgumentException("Unknown role " + share.getKey() + " in mix, expected " + roles.keySet());
+            }
+            int count = Math.max(1, Math.round((float) concurrency * share.getValue() / totalShare));
+            for (int i = 0; i < count; i++) {
+                workers.add(workload);
+            }
+        }
+        return workers;
+    }
+
+    static LatencyRecorder run(List<Workload> workloads, Duration thinkTime, Duration warmup, Duration duration)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long thinkNanos = thinkTime.toNanos();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < workloads.size(); i++) {
+            Workload workload = workloads.get(i);
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            workers.add(Thread.ofVirtual().name("worker-" + i).start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    Workload.Operation operation = workload.next(random);
+                    long start = System.nanoTime();
+                    boolean error;
+                    try {
+                        error = !operation.call().execute(random).ok();
+                    } catch (Exception e) {
+                        error = true;
+                    }
+                    if (start >= measureFrom) {
+                        recorder.record(operation.name(), System.nanoTime() - start, error);
+                    }
+                    if (thinkNanos > 0) {
+                        // Jitter of +-50% keeps workers from falling into lockstep.
+                        long pause = thinkNanos / 2 + random.nextLong(thinkNanos + 1);
+                        try {
+                            Thread.sleep(Duration.ofNanos(Math.min(pause, end - System.nanoTime())));
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.mergeInto(merged);
+        }
+        return merged;
+    }
+
+    private static void print(String label, Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%s%n%-22s %9s %8s %9s %9s %9s %9s %9s%n", label,
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        summaries.forEach((endpoint, s) -> System.out.printf("%-22s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs()));
+    }
+
+    private static void compare(JsonNode baseline, JsonNode candidate) {
+        String a = baseline.get("label").asText();
+        String b = candidate.get("label").asText();
+        System.out.printf("%-22s %12s %12s %8s %12s %12s%n", "endpoint",
+                a + " req/s", b + " req/s", "change", a + " p99", b + " p99");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = baseline.get("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode other = candidate.get("endpoints").get(entry.getKey());
+            if (other == null) {
+                continue;
+            }
+            double before = entry.getValue().get("throughput").asDouble();
+            double after = other.get("throughput").asDouble();
+            System.out.printf("%-22s %12.1f %12.1f %+7.0f%% %10.1fms %10.1fms%n", entry.getKey(), before, after,
+                    before == 0 ? 0 : (after - before) * 100 / before,
+                    entry.getValue().get("p99Ms").asDouble(), other.get("p99Ms").asDouble());
+        }
+    }
+
+    /**
+     * Parses {@code role:share,role:share}, keeping the order given.
+     */
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected role:share in --mix, got " + entry);
+            }
+            int share = Integer.parseInt(parts[1].trim());
+            if (share > 0) {
+                shares.put(parts[0].trim(), share);
+            }
+        }
+        return shares;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.springapp.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates a synthetic dataset through the public API: one admin, a set of officers and
+ * citizens, the citizens' complaints assigned round-robin to the officers, and a message
+ * thread between each complaint's citizen and officer. Usernames carry a run prefix so
+ * repeated runs against the same database do not collide.
+ */
+public class Seeder {
+
+    private static final String[] CATEGORIES = {"Water", "Roads", "Electricity", "Sanitation", "General"};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+
+    private final ApiClient api;
+    private final String prefix;
+
+    public Seeder(ApiClient api, String prefix) {
+        this.api = api;
+        this.prefix = prefix;
+    }
+
+    public Dataset seed(int citizens, int officers, int complaints, int messagesPerComplaint, int parallelism)
+            throws Exception {
+        Dataset.Account admin = register("admin", prefix + "-admin");
+        List<Dataset.Account> officerAccounts = new ArrayList<>();
+        for (int i = 0; i < officers; i++) {
+            officerAccounts.add(register("officer", prefix + "-officer-" + i));
+        }
+        List<Dataset.Account> citizenAccounts = new ArrayList<>();
+        for (int i = 0; i < citizens; i++) {
+            citizenAccounts.add(register("user", prefix + "-citizen-" + i));
+        }
+
+        List<Long> complaintIds = new ArrayList<>();
+        Map<Long, Dataset.Account> owners = new HashMap<>();
+        Map<Long, Dataset.Account> assignees = new HashMap<>();
+        Map<Long, List<Long>> byCitizen = new HashMap<>();
+        Map<Long, List<Long>> byOfficer = new HashMap<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<Long>> submitted = new ArrayList<>();
+            for (int i = 0; i < complaints; i++) {
+                Dataset.Account citizen = citizenAccounts.get(i % citizenAccounts.size());
+                Dataset.Account officer = officerAccounts.get(i % officerAccounts.size());
+                int n = i;
+                submitted.add(pool.submit(() -> {
+                    Long complaintId = submitComplaint(citizen, n, null);
+                    assign(admin, complaintId, officer);
+                    return complaintId;
+                }));
+            }
+            for (int i = 0; i < submitted.size(); i++) {
+                Long complaintId = submitted.get(i).get();
+                Dataset.Account citizen = citizenAccounts.get(i % citizenAccounts.size());
+                Dataset.Account officer = officerAccounts.get(i % officerAccounts.size());
+                complaintIds.add(complaintId);
+                owners.put(complaintId, citizen);
+                assignees.put(complaintId, officer);
+                byCitizen.computeIfAbsent(citizen.id(), k -> new ArrayList<>()).add(complaintId);
+                byOfficer.computeIfAbsent(officer.id(), k -> new ArrayList<>()).add(complaintId);
+            }
+
+            List<Future<?>> posted = new ArrayList<>();
+            for (Long complaintId : complaintIds) {
+                Dataset.Account citizen = owners.get(complaintId);
+                Dataset.Account officer = assignees.get(complaintId);
+                posted.add(pool.submit(() -> {
+                    for (int m = 0; m < messagesPerComplaint; m++) {
+                        boolean fromCitizen = m % 2 == 0;
+                        sendMessage(complaintId, fromCitizen ? citizen : officer, fromCitizen ? officer : citizen, "PUBLIC",
+                                "Seeded message " + m);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : posted) {
+                future.get();
+            }
+        }
+        return new Dataset(admin, officerAccounts, citizenAccounts, complaintIds, owners, assignees, byCitizen, byOfficer);
+    }
+
+    /**
+     * @param attachment sent as the complaint's single file, or null to submit without one
+     */
+    public Long submitComplaint(Dataset.Account citizen, int n, ApiClient.FilePart attachment)
+            throws IOException, InterruptedException {
+        ApiClient.Response response = api.postMultipart("/api/complaints/submit", citizen.token(),
+                complaintFields(citizen, n, attachment));
+        require(response, "submit complaint");
+        return response.json().get("complaintId").asLong();
+    }
+
+    public static Map<String, Object> complaintFields(Dataset.Account citizen, int n, ApiClient.FilePart attachment) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("subject", "Load test complaint " + n);
+        fields.put("description", "Synthetic complaint created by the load test seeder.");
+        fields.put("submissionType", "Public");
+        fields.put("category", CATEGORIES[n % CATEGORIES.length]);
+        fields.put("priority", PRIORITIES[n % PRIORITIES.length]);
+        fields.put("userId", citizen.id());
+        if (attachment != null) {
+            fields.put("files", attachment);
+        }
+        return fields;
+    }
+
+    public void assign(Dataset.Account admin, Long complaintId, Dataset.Account officer)
+            throws IOException, InterruptedException {
+        require(api.putJson("/api/admin/complaints/" + complaintId + "/assign", admin.token(),
+                Map.of("officerId", officer.id())), "assign complaint " + complaintId);
+    }
+
+    public void sendMessage(Long complaintId, Dataset.Account sender, Dataset.Account recipient, String type, String content)
+            throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("complaintId", complaintId);
+        body.put("senderId", sender.id());
+        body.put("recipientId", recipient.id());
+        body.put("content", content);
+        body.put("messageType", type);
+        require(api.postJson("/api/messages/send", sender.token(), body), "send message");
+    }
+
+    private Dataset.Account register(String role, String username) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("password", "loadtest");
+        body.put("email", username + "@example.com");
+        body.put("role", role);
+        ApiClient.Response response = api.postJson("/api/auth/register", null, body);
+        require(response, "register " + username);
+        return new Dataset.Account(response.json().get("userId").asLong(), username, response.json().get("token").asText());
+    }
+
+    private static void require(ApiClient.Response response, String what) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Seeding failed to " + what + ": HTTP " + response.status() + " " + response.body());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.springapp.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A weighted mix of API calls. Each worker repeatedly draws the next operation from it.
+ */
+public class Workload {
+
+    @FunctionalInterface
+    public interface Call {
+        ApiClient.Response execute(Random random) throws Exception;
+    }
+
+    public record Operation(String name, int weight, Call call) {
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public Workload add(String name, int weight, Call call) {
+        operations.add(new Operation(name, weight, call));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Operation next(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Empty workload");
+    }
+
+    /**
+     * Complaint and message reads with a share of message posts, as issued by the
+     * complaint detail pages and the citizen's complaint list.
+     */
+    public static Workload complaintsAndMessages(ApiClient api, Dataset data) {
+        return new Workload()
+                .add("complaint.get", 20, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    return api.get("/api/complaints/" + id, data.admin().token());
+                })
+                .add("complaint.detail", 15, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    return api.get("/api/complaints/" + id + "/detail?officers=true", data.admin().token());
+                })
+                .add("complaint.byUser", 15, random -> {
+                    Dataset.Account citizen = pick(data.citizens(), random);
+                    return api.get("/api/complaints/user/" + citizen.id(), citizen.token());
+                })
+                .add("message.public", 25, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    return api.get("/api/messages/complaint/" + id + "/public?limit=50", data.officer().token());
+                })
+                .add("message.private", 15, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    return api.get("/api/messages/complaint/" + id + "/private?limit=50", data.officer().token());
+                })
+                .add("message.send", 10, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("complaintId", id);
+                    body.put("senderId", data.officer().id());
+                    body.put("content", "Load test update");
+                    body.put("messageType", "PUBLIC");
+                    return api.postJson("/api/messages/send", data.officer().token(), body);
+                });
+    }
+
+    /**
+     * A citizen: files complaints with a photo attached, checks their complaint list and
+     * the detail page of one of their complaints, reads and answers the officer's messages.
+     */
+    public static Workload citizen(ApiClient api, Dataset data, int attachmentBytes) {
+        List<Dataset.Account> filers = data.citizens().stream()
+                .filter(c -> data.complaintsByCitizen().containsKey(c.id()))
+                .toList();
+        AtomicInteger submissions = new AtomicInteger();
+        return new Workload()
+                .add("citizen.submit", 10, random -> {
+                    Dataset.Account citizen = pick(data.citizens(), random);
+                    ApiClient.FilePart photo = attachmentBytes > 0 ? Attachments.photo(attachmentBytes, random) : null;
+                    return api.postMultipart("/api/complaints/submit", citizen.token(),
+                            Seeder.complaintFields(citizen, submissions.incrementAndGet(), photo));
+                })
+                .add("citizen.complaints", 35, random -> {
+                    Dataset.Account citizen = pick(data.citizens(), random);
+                    return api.get("/api/complaints/user/" + citizen.id(), citizen.token());
+                })
+                .add("citizen.detail", 25, random -> {
+                    Dataset.Account citizen = pick(filers, random);
+                    Long id = pick(data.complaintsByCitizen().get(citizen.id()), random);
+                    return api.get("/api/complaints/" + id + "/detail", citizen.token());
+                })
+                .add("citizen.messages", 20, random -> {
+                    Dataset.Account citizen = pick(filers, random);
+                    Long id = pick(data.complaintsByCitizen().get(citizen.id()), random);
+                    return api.get("/api/messages/complaint/" + id + "/public?limit=50", citizen.token());
+                })
+                .add("citizen.reply", 10, random -> {
+                    Dataset.Account citizen = pick(filers, random);
+                    Long id = pick(data.complaintsByCitizen().get(citizen.id()), random);
+                    return api.postJson("/api/messages/send", citizen.token(),
+                            message(id, citizen, data.complaintAssignees().get(id), "PUBLIC", "Any update on this?"));
+                });
+    }
+
+    /**
+     * An officer: polls their assigned complaints and stats the way the officer dashboard
+     * does, opens assigned complaints, moves them along and replies to the citizen.
+     */
+    public static Workload officer(ApiClient api, Dataset data) {
+        List<Dataset.Account> assigned = data.officers().stream()
+                .filter(o -> data.complaintsByOfficer().containsKey(o.id()))
+                .toList();
+        return new Workload()
+                .add("officer.complaints", 40, random -> {
+                    Dataset.Account officer = pick(data.officers(), random);
+                    return api.get("/api/officer/complaints/" + officer.id(), officer.token());
+                })
+                .add("officer.stats", 15, random -> {
+                    Dataset.Account officer = pick(data.officers(), random);
+                    return api.get("/api/officer/stats/" + officer.id(), officer.token());
+                })
+                .add("officer.detail", 25, random -> {
+                    Dataset.Account officer = pick(assigned, random);
+                    Long id = pick(data.complaintsByOfficer().get(officer.id()), random);
+                    return api.get("/api/complaints/" + id + "/detail", officer.token());
+                })
+                .add("officer.status", 10, random -> {
+                    Dataset.Account officer = pick(assigned, random);
+                    Long id = pick(data.complaintsByOfficer().get(officer.id()), random);
+                    String status = random.nextInt(4) == 0 ? "RESOLVED" : "IN PROGRESS";
+                    return api.putJson("/api/officer/complaints/" + id + "/status", officer.token(),
+                            Map.of("status", status));
+                })
+                .add("officer.reply", 10, random -> {
+                    Dataset.Account officer = pick(assigned, random);
+                    Long id = pick(data.complaintsByOfficer().get(officer.id()), random);
+                    return api.postJson("/api/messages/send", officer.token(),
+                            message(id, officer, data.complaintOwners().get(id), "PUBLIC", "We are looking into it."));
+                });
+    }
+
+    /**
+     * An admin: loads the dashboard's complaint page, stats, officer list and escalations,
+     * assigns complaints and now and then exports the last 30 days as CSV or PDF. Complaints
+     * are assigned to the officer they already have, so the dataset's indexes stay valid.
+     */
+    public static Workload admin(ApiClient api, Dataset data) {
+        String admin = data.admin().token();
+        String reportRange = "startDate=" + LocalDate.now().minusDays(30) + "&endDate=" + LocalDate.now();
+        return new Workload()
+                .add("admin.page", 30, random -> {
+                    String filter = random.nextBoolean() ? "" : "&status=" + (random.nextBoolean() ? "NEW" : "IN%20PROGRESS");
+                    return api.get("/api/admin/complaints/page?size=20" + filter, admin);
+                })
+                .add("admin.stats", 20, random -> api.get("/api/admin/complaints/stats", admin))
+                .add("admin.officers", 15, random -> api.get("/api/admin/officers", admin))
+                .add("admin.escalated", 15, random -> api.get("/api/admin/complaints/escalated", admin))
+                .add("admin.detail", 10, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    return api.get("/api/complaints/" + id + "/detail?officers=true", admin);
+                })
+                .add("admin.assign", 5, random -> {
+                    Long id = pick(data.complaintIds(), random);
+                    Dataset.Account officer = data.complaintAssignees().get(id);
+                    return api.putJson("/api/admin/complaints/" + id + "/assign", admin, Map.of("officerId", officer.id()));
+                })
+                .add("admin.report.csv", 4, random ->
+                        api.download("/api/admin/reports/stream?format=csv&" + reportRange, admin))
+                .add("admin.report.pdf", 1, random ->
+                        api.download("/api/admin/reports/stream?format=pdf&" + reportRange, admin));
+    }
+
+    private static Map<String, Object> message(Long complaintId, Dataset.Account sender, Dataset.Account recipient,
+                                               String type, String content) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("complaintId", complaintId);
+        body.put("senderId", sender.id());
+        body.put("recipientId", recipient.id());
+        body.put("content", content);
+        body.put("messageType", type);
+        return body;
+    }
+
+    static <T> T pick(List<T> items, Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+}
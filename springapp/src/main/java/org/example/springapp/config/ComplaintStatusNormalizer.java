@@ -0,0 +1,37 @@
+package org.example.springapp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.example.springapp.entity.ComplaintStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites stored statuses that differ from their {@link ComplaintStatus} label only in
+ * casing, such as "Resolved" or "In Progress" written by older clients. The column's
+ * collation is case-insensitive, so each UPDATE finds them through the status index.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ComplaintStatusNormalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatusNormalizer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void normalizeStatuses() {
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE complaints SET status = ? WHERE status = ? AND BINARY status <> ?",
+                    status.label(), status.label(), status.label());
+            if (updated > 0) {
+                log.info("Normalized the status of {} complaints to {}", updated, status.label());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.springapp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.example.springapp.entity.IdSequences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each table-backed id sequence past the ids already in its table. Rows inserted
+ * while the table used AUTO_INCREMENT, or by other tools, would otherwise collide with
+ * the pooled ids Hibernate hands out, since a new sequence table starts at 1. Runs once
+ * Hibernate has created the schema, sequence tables included.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        for (Map.Entry<String, String> entry : IdSequences.BY_TABLE.entrySet()) {
+            String table = entry.getKey();
+            String sequence = entry.getValue();
+            Integer tableBacked = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = 'next_val'",
+                    Integer.class, sequence);
+            if (tableBacked == null || tableBacked == 0) {
+                continue;
+            }
+            // The pooled optimizer hands out the block of ids that ends at the stored value.
+            int moved = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = " +
+                    "(SELECT COALESCE(MAX(id), 0) + " + IdSequences.ALLOCATION_SIZE + " FROM " + table + ") " +
+                    "WHERE next_val < (SELECT COALESCE(MAX(id), 0) + " + IdSequences.ALLOCATION_SIZE + " FROM " + table + ")");
+            if (moved > 0) {
+                log.info("Moved id sequence {} past the existing ids in {}", sequence, table);
+            }
+        }
+    }
+}
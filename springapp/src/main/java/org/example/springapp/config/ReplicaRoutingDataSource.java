@@ -0,0 +1,212 @@
+package org.example.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.springapp.util.ReadYourWrites;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions, round-robin over the replicas
+ * that passed their last health check, and primary connections to everything else. Reads
+ * fall back to the primary when no replica is healthy or the thread is pinned by
+ * {@link ReadYourWrites}.
+ * <p>
+ * The read-only flag is only known once the transaction has begun, after the transaction
+ * manager asked for its connection, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy} that fetches the connection at the first statement.
+ * <p>
+ * Health checks run on a thread of their own: a replica that is down makes each check
+ * wait out the connection timeout, which must not delay the application's other
+ * scheduled tasks.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /** Lag of a replica whose replication threads are stopped. */
+    private static final long STOPPED = Long.MAX_VALUE;
+
+    /** Lag of a server that reports no replication status, or does not let us read it. */
+    private static final long UNKNOWN = -1;
+
+    private static final List<String> STATUS_QUERIES = List.of("SHOW REPLICA STATUS", "SHOW SLAVE STATUS");
+    private static final List<String> LAG_COLUMNS = List.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Counter primaryConnections;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+
+    ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag,
+                             Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(dataSource -> new Replica(dataSource, meterRegistry)).toList();
+        this.maxLag = maxLag;
+        this.primaryConnections = routedCounter(meterRegistry, primary.getPoolName());
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(WorkerThreads.factory("replica-health-", false));
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isPinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.connections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // Skipped until the next health check finds it reachable again.
+                    replica.update(false, e.getMessage());
+                }
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections always use the configured credentials");
+    }
+
+    /**
+     * Marks each replica healthy when it hands out a connection and is no further behind
+     * the primary than the configured maximum lag. Replicas start unhealthy, so reads stay
+     * on the primary until the first check has passed.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lag = lagSeconds(connection);
+                replica.lagSeconds = lag;
+                if (lag == STOPPED) {
+                    replica.update(false, "replication is stopped");
+                } else if (lag > maxLag.toSeconds()) {
+                    replica.update(false, "replication lags " + lag + "s behind the primary");
+                } else {
+                    replica.update(true, null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Must not escape: the executor would stop running the checks.
+                replica.lagSeconds = UNKNOWN;
+                replica.update(false, e.getMessage());
+            }
+        }
+    }
+
+    /** Stops the health checks and closes the replica pools; the primary pool is a bean of its own. */
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Reads the replication delay from the replica's status. A server that reports no
+     * status, or refuses to (reading it needs the REPLICATION CLIENT privilege), is taken
+     * as current; the lag check then only guards replicas the application may inspect.
+     */
+    private static long lagSeconds(Connection connection) {
+        for (String query : STATUS_QUERIES) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(query)) {
+                int column = lagColumn(rs.getMetaData());
+                long lag = UNKNOWN;
+                // Multi-source replicas report one row per source; the slowest one counts.
+                while (rs.next() && column > 0) {
+                    long value = rs.getLong(column);
+                    lag = Math.max(lag, rs.wasNull() ? STOPPED : value);
+                }
+                return lag;
+            } catch (SQLException e) {
+                // Older servers only know the SLAVE spelling; try the next query.
+                log.debug("{} failed: {}", query, e.getMessage());
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.connections.routed")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        final HikariDataSource dataSource;
+        final Counter connections;
+        volatile boolean healthy;
+        boolean checked;
+        volatile long lagSeconds = UNKNOWN;
+
+        Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.connections = routedCounter(meterRegistry, dataSource.getPoolName());
+            Gauge.builder("datasource.replica.up", this, replica -> replica.healthy ? 1 : 0)
+                    .description("Whether the replica currently receives read-only transactions")
+                    .tag("pool", dataSource.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", this,
+                            replica -> replica.lagSeconds < 0 || replica.lagSeconds == STOPPED ? Double.NaN : replica.lagSeconds)
+                    .description("Replication delay reported at the last health check")
+                    .baseUnit("seconds")
+                    .tag("pool", dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        /** Logs the first check and every change after it. */
+        synchronized void update(boolean up, String reason) {
+            if (!checked || up != healthy) {
+                if (up) {
+                    log.info("Read replica {} is available", dataSource.getPoolName());
+                } else {
+                    log.warn("Read replica {} is unavailable, reading from the primary: {}",
+                            dataSource.getPoolName(), reason);
+                }
+            }
+            checked = true;
+            healthy = up;
+        }
+    }
+}
@@ -1,93 +1,261 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.dto.ComplaintView;
+import org.example.springapp.dto.UserSummary;
 import org.example.springapp.entity.Complaint;
-import org.example.springapp.entity.User;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.entity.ImportJob;
+import org.example.springapp.event.ComplaintChangedEvent;
 import org.example.springapp.repository.ComplaintRepository;
 import org.example.springapp.repository.UserRepository;
+import org.example.springapp.service.ComplaintBulkService;
+import org.example.springapp.service.ComplaintImportService;
+import org.example.springapp.service.ComplaintStatsService;
+import org.example.springapp.service.ComplaintTransitionService;
+import org.example.springapp.service.EscalationService;
+import org.example.springapp.service.ReportJobService;
+import org.example.springapp.service.ReportService;
+import org.example.springapp.service.UserLookupService;
+import org.example.springapp.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.DocumentException;
-import com.itextpdf.text.Element;
-import com.itextpdf.text.Font;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.Phrase;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AdminController {
 
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Bounds the IN list and how long a bulk update holds its row locks.
+    private static final int MAX_BULK_SIZE = 500;
+
     @Autowired
     private ComplaintRepository complaintRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private ComplaintTransitionService complaintTransitionService;
+
+    @Autowired
+    private ComplaintBulkService complaintBulkService;
+
+    @Autowired
+    private ComplaintImportService complaintImportService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ComplaintStatsService complaintStatsService;
+
+    @Autowired
+    private EscalationService escalationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/complaints")
-    public ResponseEntity<List<Complaint>> getAllComplaints() {
+    public ResponseEntity<List<ComplaintView>> getAllComplaints() {
         List<Complaint> complaints = complaintRepository.findAll();
-        return ResponseEntity.ok(complaints);
+        return ResponseEntity.ok(complaints.stream().map(ComplaintView::of).toList());
+    }
+
+    @GetMapping("/complaints/page")
+    public ResponseEntity<?> getComplaintPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        KeysetCursor after;
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            after = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor) : null;
+            from = startDate != null && !startDate.isEmpty() ? LocalDate.parse(startDate).atStartOfDay() : null;
+            to = endDate != null && !endDate.isEmpty() ? LocalDate.parse(endDate).plusDays(1).atStartOfDay() : null;
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or date range");
+        }
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        List<Complaint> rows = complaintRepository.findPage(
+                blankToNull(status), blankToNull(priority), blankToNull(category), assigneeId, from, to,
+                after != null ? after.getCreatedAt() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Complaint> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Complaint last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResponseEntity.ok(new ComplaintPageResponse(items.stream().map(ComplaintView::of).toList(), nextCursor, hasMore));
     }
 
     @GetMapping("/officers")
-    public ResponseEntity<List<User>> getOfficers() {
-        List<User> officers = userRepository.findByRole("officer");
-        return ResponseEntity.ok(officers);
+    public ResponseEntity<List<UserSummary>> getOfficers() {
+        return ResponseEntity.ok(userLookupService.getOfficers());
     }
 
     @GetMapping("/complaints/stats")
     public ResponseEntity<Map<String, Long>> getComplaintStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("total", complaintRepository.count());
-        stats.put("new", complaintRepository.countByStatus("New"));
-        stats.put("assigned", complaintRepository.countByStatus("IN PROGRESS"));
-        stats.put("resolved", complaintRepository.countByStatus("Resolved"));
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(complaintStatsService.getComplaintStats());
     }
 
+    /**
+     * Assigns the complaint and moves it to IN PROGRESS. An optional {@code version} makes
+     * the change conditional on the version the client last saw; 409 when it is stale or
+     * the complaint's status does not allow the assignment.
+     */
     @PutMapping("/complaints/{id}/assign")
     public ResponseEntity<String> assignComplaint(@PathVariable Long id, @RequestBody Map<String, Long> request) {
         Long officerId = request.get("officerId");
-        Complaint complaint = complaintRepository.findById(id).orElse(null);
-        User officer = userRepository.findById(officerId).orElse(null);
+        if (officerId == null || userLookupService.findById(officerId).isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid complaint or officer ID");
+        }
         
-        if (complaint != null && officer != null) {
-            complaint.setAssignedTo(officer);
-            complaint.setStatus("IN PROGRESS");
-            complaintRepository.save(complaint);
-            return ResponseEntity.ok("Complaint assigned successfully");
+        ComplaintState previous;
+        try {
+            previous = complaintTransitionService.assign(id, userRepository.getReferenceById(officerId),
+                    request.get("version")).orElse(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Complaint was changed by someone else, reload and retry");
         }
-        return ResponseEntity.badRequest().body("Invalid complaint or officer ID");
+        if (previous == null) {
+            return ResponseEntity.badRequest().body("Invalid complaint or officer ID");
+        }
+        eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.ASSIGNED, id,
+                previous.status(), ComplaintStatus.IN_PROGRESS.label(), previous.assigneeId(), officerId));
+        return ResponseEntity.ok("Complaint assigned successfully");
     }
 
+    /**
+     * Moves the complaint to another status under the same rules as the assignment.
+     */
     @PutMapping("/complaints/{id}/status")
     public ResponseEntity<String> updateComplaintStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
-        String status = request.get("status");
-        Complaint complaint = complaintRepository.findById(id).orElse(null);
+        ComplaintStatus status;
+        Long version;
+        try {
+            status = ComplaintStatus.parse(request.get("status"));
+            version = request.get("version") != null ? Long.valueOf(request.get("version")) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid status or version");
+        }
         
-        if (complaint != null) {
-            complaint.setStatus(status);
-            complaintRepository.save(complaint);
-            return ResponseEntity.ok("Status updated successfully");
+        ComplaintState previous;
+        try {
+            previous = complaintTransitionService.changeStatus(id, status, version).orElse(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Complaint was changed by someone else, reload and retry");
+        }
+        if (previous == null) {
+            return ResponseEntity.badRequest().body("Invalid complaint ID");
+        }
+        eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.STATUS_CHANGED, id,
+                previous.status(), status.label(), previous.assigneeId(), previous.assigneeId()));
+        return ResponseEntity.ok("Status updated successfully");
+    }
+
+    /**
+     * Assigns every listed complaint to one officer in a single UPDATE. Unknown complaint
+     * ids are skipped and returned in {@code notFound}, complaints whose status does not
+     * allow the assignment in {@code rejected}.
+     */
+    @PutMapping("/complaints/bulk/assign")
+    public ResponseEntity<?> bulkAssign(@RequestBody BulkAssignRequest request) {
+        Set<Long> ids = bulkIds(request.complaintIds);
+        if (ids == null || request.officerId == null) {
+            return ResponseEntity.badRequest().body("Between 1 and " + MAX_BULK_SIZE + " complaint IDs and an officer ID are required");
+        }
+        if (userLookupService.findById(request.officerId).isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid officer ID");
+        }
+        ComplaintBulkService.Result result = complaintBulkService.assign(ids, userRepository.getReferenceById(request.officerId));
+        for (ComplaintState state : result.updated()) {
+            eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.ASSIGNED, state.id(),
+                    state.status(), ComplaintStatus.IN_PROGRESS.label(), state.assigneeId(), request.officerId));
+        }
+        return ResponseEntity.ok(new BulkUpdateResponse(ids, result));
+    }
+
+    /**
+     * Sets the status of every listed complaint in a single UPDATE. Unknown complaint ids
+     * are skipped and returned in {@code notFound}, complaints whose status does not allow
+     * the change in {@code rejected}.
+     */
+    @PutMapping("/complaints/bulk/status")
+    public ResponseEntity<?> bulkUpdateStatus(@RequestBody BulkStatusRequest request) {
+        Set<Long> ids = bulkIds(request.complaintIds);
+        ComplaintStatus status;
+        try {
+            status = ComplaintStatus.parse(request.status);
+        } catch (IllegalArgumentException e) {
+            status = null;
+        }
+        if (ids == null || status == null) {
+            return ResponseEntity.badRequest().body("Between 1 and " + MAX_BULK_SIZE + " complaint IDs and a valid status are required");
         }
-        return ResponseEntity.badRequest().body("Invalid complaint ID");
+        ComplaintBulkService.Result result = complaintBulkService.updateStatus(ids, status);
+        for (ComplaintState state : result.updated()) {
+            eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.STATUS_CHANGED, state.id(),
+                    state.status(), status.label(), state.assigneeId(), state.assigneeId()));
+        }
+        return ResponseEntity.ok(new BulkUpdateResponse(ids, result));
+    }
+
+    /** Distinct ids in request order, or null if there are none or too many. */
+    private static Set<Long> bulkIds(List<Long> complaintIds) {
+        if (complaintIds == null) {
+            return null;
+        }
+        Set<Long> ids = new LinkedHashSet<>(complaintIds);
+        ids.remove(null);
+        return ids.isEmpty() || ids.size() > MAX_BULK_SIZE ? null : ids;
     }
 
     @GetMapping("/complaints/{id}/notes")
@@ -101,13 +269,8 @@ public class AdminController {
     }
 
     @GetMapping("/complaints/escalated")
-    public ResponseEntity<List<Complaint>> getEscalatedComplaints() {
-        try {
-            List<Complaint> escalatedComplaints = complaintRepository.findEscalatedComplaints();
-            return ResponseEntity.ok(escalatedComplaints);
-        } catch (Exception e) {
-            return ResponseEntity.ok(List.of());
-        }
+    public ResponseEntity<List<ComplaintView>> getEscalatedComplaints() {
+        return ResponseEntity.ok(escalationService.getEscalatedComplaints().stream().map(ComplaintView::of).toList());
     }
 
     @GetMapping("/reports/generate")
@@ -120,31 +283,22 @@ public class AdminController {
         try {
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
-            
-            List<Complaint> complaints = complaintRepository.findAll().stream()
-                .filter(c -> {
-                    LocalDate complaintDate = c.getCreatedAt().toLocalDate();
-                    return !complaintDate.isBefore(start) && !complaintDate.isAfter(end);
-                })
-                .collect(Collectors.toList());
-
-            if (categories != null && !categories.isEmpty()) {
-                List<String> categoryList = List.of(categories.split(","));
-                complaints = complaints.stream()
-                    .filter(c -> categoryList.contains(c.getCategory()))
-                    .collect(Collectors.toList());
-            }
+            List<String> categoryList = ReportService.parseCategories(categories);
             
             byte[] reportData;
             String fileName;
             MediaType mediaType;
             
             if ("csv".equalsIgnoreCase(format)) {
-                reportData = generateCSVReport(complaints);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                reportService.writeCsv(start, end, categoryList, baos);
+                reportData = baos.toByteArray();
                 fileName = "complaints_report_" + startDate + "_to_" + endDate + ".csv";
                 mediaType = MediaType.parseMediaType("text/csv");
             } else {
-                reportData = generatePDFReport(complaints, startDate, endDate);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                reportService.writePdf(start, end, categoryList, baos);
+                reportData = baos.toByteArray();
                 fileName = "complaints_report_" + startDate + "_to_" + endDate + ".pdf";
                 mediaType = MediaType.APPLICATION_PDF;
             }
@@ -162,88 +316,220 @@ public class AdminController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @GetMapping("/reports/stream")
+    public ResponseEntity<StreamingResponseBody> streamReport(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(required = false) String categories,
+            @RequestParam String format) {
+
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(startDate);
+            end = LocalDate.parse(endDate);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<String> categoryList = ReportService.parseCategories(categories);
+        String fileName = "complaints_report_" + startDate + "_to_" + endDate;
+
+        HttpHeaders headers = new HttpHeaders();
+        StreamingResponseBody body;
+        if ("csv".equalsIgnoreCase(format)) {
+            headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+            headers.setContentDispositionFormData("attachment", fileName + ".csv");
+            body = out -> reportService.writeCsv(start, end, categoryList, out);
+        } else {
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", fileName + ".pdf");
+            body = out -> reportService.writePdf(start, end, categoryList, out);
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
     
-    private byte[] generateCSVReport(List<Complaint> complaints) {
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
-
-        writer.println("Complaint ID,Subject,Category,Priority,Status,Submission Type,Date Created,Submitted By,Assigned To");
-
-        for (Complaint complaint : complaints) {
-            writer.printf("%d,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"%n",
-                complaint.getId(),
-                escapeCSV(complaint.getSubject()),
-                complaint.getCategory() != null ? complaint.getCategory() : "",
-                complaint.getPriority() != null ? complaint.getPriority() : "",
-                complaint.getStatus() != null ? complaint.getStatus() : "",
-                complaint.getSubmissionType() != null ? complaint.getSubmissionType() : "",
-                complaint.getCreatedAt().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")),
-                complaint.getUser() != null ? complaint.getUser().getUsername() : "Anonymous",
-                complaint.getAssignedTo() != null ? complaint.getAssignedTo().getUsername() : "Unassigned"
-            );
+    /**
+     * Queues a report for {@code startDate} to {@code endDate} (inclusive) in {@code format}
+     * {@code csv} or {@code pdf}; 400 for any other format or when the range ends before it
+     * starts.
+     */
+    @PostMapping("/reports/jobs")
+    public ResponseEntity<?> submitReportJob(@RequestBody Map<String, String> request) {
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(request.get("startDate"));
+            end = LocalDate.parse(request.get("endDate"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Invalid date range");
         }
-        
-        return stringWriter.toString().getBytes();
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().body("End date is before start date");
+        }
+        String format;
+        try {
+            format = ReportJobService.normalizeFormat(request.get("format"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Format must be csv or pdf");
+        }
+        List<String> categoryList = ReportService.parseCategories(request.get("categories"));
+
+        try {
+            ReportJobService.ReportJob job = reportJobService.submit(start, end, categoryList, format);
+            return ResponseEntity.accepted().body(new ReportJobResponse(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Report queue is full, please retry shortly");
+        }
+    }
+
+    @GetMapping("/reports/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String jobId) {
+        return reportJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(new ReportJobResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/reports/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadReportJob(@PathVariable String jobId) {
+        ReportJobService.ReportJob job = reportJobService.getJob(jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ReportJobService.Status.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Report is not ready");
+        }
+        FileSystemResource resource = new FileSystemResource(job.getFile());
+        if (!resource.exists()) {
+            return ResponseEntity.status(HttpStatus.GONE).body("Report artifact has expired");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType("csv".equals(job.getFormat()) ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment",
+                "complaints_report_" + job.getStartDate() + "_to_" + job.getEndDate() + "." + job.getFormat());
+        return ResponseEntity.ok().headers(headers).body(resource);
     }
     
-    private byte[] generatePDFReport(List<Complaint> complaints, String startDate, String endDate) {
+    /**
+     * Starts a CSV import. The file is sent as the raw request body, e.g.
+     * {@code curl -T legacy.csv -H 'Content-Type: text/csv'}, so its size is not bound
+     * by the multipart limits.
+     */
+    @PostMapping(value = "/imports", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> submitImport(@RequestParam(required = false) String fileName, InputStream body) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Document document = new Document();
-            PdfWriter.getInstance(document, baos);
-            document.open();
-            
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
-            Font headerFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
-            Font normalFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
-            
-            Paragraph title = new Paragraph("COMPLAINTS REPORT", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
-            
-            document.add(new Paragraph(" "));
-            
-            Paragraph period = new Paragraph("Report Period: " + startDate + " to " + endDate, normalFont);
-            period.setAlignment(Element.ALIGN_CENTER);
-            document.add(period);
-            
-            Paragraph total = new Paragraph("Total Complaints: " + complaints.size(), normalFont);
-            total.setAlignment(Element.ALIGN_CENTER);
-            document.add(total);
-            
-            document.add(new Paragraph(" "));
-            
-            PdfPTable table = new PdfPTable(6);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{1, 3, 1.5f, 1.5f, 1.5f, 2});
-            
-            table.addCell(new PdfPCell(new Phrase("ID", headerFont)));
-            table.addCell(new PdfPCell(new Phrase("Subject", headerFont)));
-            table.addCell(new PdfPCell(new Phrase("Category", headerFont)));
-            table.addCell(new PdfPCell(new Phrase("Priority", headerFont)));
-            table.addCell(new PdfPCell(new Phrase("Status", headerFont)));
-            table.addCell(new PdfPCell(new Phrase("Created Date", headerFont)));
-            
-            for (Complaint complaint : complaints) {
-                table.addCell(new PdfPCell(new Phrase(String.valueOf(complaint.getId()), normalFont)));
-                table.addCell(new PdfPCell(new Phrase(complaint.getSubject() != null ? complaint.getSubject() : "", normalFont)));
-                table.addCell(new PdfPCell(new Phrase(complaint.getCategory() != null ? complaint.getCategory() : "", normalFont)));
-                table.addCell(new PdfPCell(new Phrase(complaint.getPriority() != null ? complaint.getPriority() : "", normalFont)));
-                table.addCell(new PdfPCell(new Phrase(complaint.getStatus() != null ? complaint.getStatus() : "", normalFont)));
-                table.addCell(new PdfPCell(new Phrase(complaint.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), normalFont)));
-            }
-            
-            document.add(table);
-            document.close();
-            
-            return baos.toByteArray();
-        } catch (DocumentException e) {
-            return "Error generating PDF".getBytes();
+            ImportJob job = complaintImportService.submit(body, fileName);
+            return ResponseEntity.accepted().body(new ImportJobResponse(job));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Import file could not be stored");
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Import queue is full, resume the import later");
+        }
+    }
+
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<ImportJobResponse> getImport(@PathVariable Long id) {
+        return complaintImportService.getJob(id)
+                .map(job -> ResponseEntity.ok(new ImportJobResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/imports/{id}/resume")
+    public ResponseEntity<?> resumeImport(@PathVariable Long id) {
+        try {
+            return complaintImportService.resume(id)
+                    .<ResponseEntity<?>>map(job -> ResponseEntity.accepted().body(new ImportJobResponse(job)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Import queue is full, please retry shortly");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    static class ReportJobResponse {
+        public String id;
+        public String status;
+        public String format;
+        public long rowsWritten;
+        public long totalRows;
+        public boolean cacheHit;
+        public String error;
+
+        public ReportJobResponse(ReportJobService.ReportJob job) {
+            this.id = job.getId();
+            this.status = job.getStatus().name();
+            this.format = job.getFormat();
+            this.rowsWritten = job.getRowsWritten();
+            this.totalRows = job.getTotalRows();
+            this.cacheHit = job.isCacheHit();
+            this.error = job.getError();
+        }
+    }
+
+    static class ImportJobResponse {
+        public Long id;
+        public String fileName;
+        public String status;
+        public long recordsCommitted;
+        public long complaintsImported;
+        public long messagesImported;
+        public long recordsRejected;
+        public String lastRejection;
+        public String error;
+
+        public ImportJobResponse(ImportJob job) {
+            this.id = job.getId();
+            this.fileName = job.getFileName();
+            this.status = job.getStatus();
+            this.recordsCommitted = job.getRecordsCommitted();
+            this.complaintsImported = job.getComplaintsImported();
+            this.messagesImported = job.getMessagesImported();
+            this.recordsRejected = job.getRecordsRejected();
+            this.lastRejection = job.getLastRejection();
+            this.error = job.getError();
         }
     }
 
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        return value.replace("\"", "\\\"").replace("\n", " ").replace("\r", " ");
+    static class BulkAssignRequest {
+        public List<Long> complaintIds;
+        public Long officerId;
+    }
+
+    static class BulkStatusRequest {
+        public List<Long> complaintIds;
+        public String status;
+    }
+
+    static class BulkUpdateResponse {
+        public int updated;
+        public List<Long> notFound;
+        public List<Long> rejected;
+
+        public BulkUpdateResponse(Set<Long> requested, ComplaintBulkService.Result result) {
+            Set<Long> missing = new LinkedHashSet<>(requested);
+            result.updated().forEach(state -> missing.remove(state.id()));
+            missing.removeAll(result.rejected());
+            this.updated = result.updated().size();
+            this.notFound = new ArrayList<>(missing);
+            this.rejected = result.rejected();
+        }
+    }
+
+    static class ComplaintPageResponse {
+        public List<ComplaintView> items;
+        public String nextCursor;
+        public boolean hasMore;
+
+        public ComplaintPageResponse(List<ComplaintView> items, String nextCursor, boolean hasMore) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.UserAccount;
 import org.example.springapp.entity.User;
 import org.example.springapp.repository.UserRepository;
+import org.example.springapp.service.UserLookupService;
 import org.example.springapp.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,26 +17,31 @@ import java.util.Optional;
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserLookupService userLookupService;
+
     @Autowired
     private JwtUtil jwtUtil;
     
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        System.out.println("Login request received: " + request.username);
+        log.debug("Login request received: {}", request.username);
         
         if (request.username == null || request.password == null) {
             return ResponseEntity.badRequest().body(new LoginResponse("Username and password required", null));
         }
         
-        Optional<User> user = userRepository.findByUsername(request.username);
+        Optional<UserAccount> user = userLookupService.findByUsername(request.username);
         
-        if (user.isPresent() && user.get().getPassword().equals(request.password) && user.get().getRole().equals(request.role)) {
-            String token = jwtUtil.generateToken(user.get().getUsername(), user.get().getRole());
-            return ResponseEntity.ok(new LoginResponse("Login successful", user.get().getId(), token));
+        if (user.isPresent() && user.get().password().equals(request.password) && user.get().role().equals(request.role)) {
+            String token = jwtUtil.generateToken(user.get().username(), user.get().role());
+            return ResponseEntity.ok(new LoginResponse("Login successful", user.get().id(), token));
         }
         
         return ResponseEntity.badRequest().body(new LoginResponse("Invalid credentials or role", null));
@@ -40,7 +49,7 @@ public class AuthController {
     
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
-        if (userRepository.findByUsername(request.username).isPresent()) {
+        if (userLookupService.findByUsername(request.username).isPresent()) {
             return ResponseEntity.badRequest().body(new LoginResponse("Username already exists", null));
         }
         
@@ -51,6 +60,7 @@ public class AuthController {
         user.setRole(request.role);
         
         User savedUser = userRepository.save(user);
+        userLookupService.evict(savedUser);
         String token = jwtUtil.generateToken(savedUser.getUsername(), savedUser.getRole());
         return ResponseEntity.ok(new LoginResponse("Registration successful", savedUser.getId(), token));
     }
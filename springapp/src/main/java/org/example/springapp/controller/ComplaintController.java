@@ -1,22 +1,40 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.ComplaintDetail;
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.dto.ComplaintTimeline;
+import org.example.springapp.dto.ComplaintView;
 import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.ComplaintStatus;
 import org.example.springapp.entity.User;
+import org.example.springapp.event.ComplaintChangedEvent;
 import org.example.springapp.repository.ComplaintRepository;
 import org.example.springapp.repository.UserRepository;
+import org.example.springapp.service.AttachmentStorageService;
+import org.example.springapp.service.ComplaintDetailService;
+import org.example.springapp.service.ComplaintHistoryService;
+import org.example.springapp.service.ComplaintTransitionService;
+import org.example.springapp.service.FileDownloadService;
+import org.example.springapp.service.ThumbnailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.RequestMethod;
 
-import java.io.File;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/complaints")
@@ -28,6 +46,27 @@ public class ComplaintController {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ComplaintTransitionService complaintTransitionService;
+
+    @Autowired
+    private AttachmentStorageService attachmentStorageService;
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private ComplaintDetailService complaintDetailService;
+
+    @Autowired
+    private ComplaintHistoryService complaintHistoryService;
     
     @PostMapping("/submit")
     public ResponseEntity<?> submitComplaint(
@@ -51,85 +90,212 @@ public class ComplaintController {
             complaint.setUser(user);
         }
 
-        if (files != null && files.length > 0) {
-            StringBuilder filePaths = new StringBuilder();
-            String uploadDir = "uploads/";
-
-            File directory = new File(uploadDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            
+        List<String> references = new ArrayList<>();
+        if (files != null) {
             for (MultipartFile file : files) {
                 if (!file.isEmpty()) {
                     try {
-                        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-                        Path filePath = Paths.get(uploadDir + fileName);
-                        Files.write(filePath, file.getBytes());
-                        
-                        if (!filePaths.isEmpty()) {
-                            filePaths.append(",");
-                        }
-                        filePaths.append(fileName);
+                        references.add(attachmentStorageService.store(file));
                     } catch (IOException e) {
+                        attachmentStorageService.releaseAll(references);
                         return ResponseEntity.badRequest().body(new ComplaintResponse("File upload failed", null));
+                    } catch (PessimisticLockingFailureException e) {
+                        // Still deadlocked after the store's own retries; the client may resubmit.
+                        attachmentStorageService.releaseAll(references);
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(new ComplaintResponse("File upload conflicted with another upload, please retry", null));
                     }
                 }
             }
-            
-            if (!filePaths.isEmpty()) {
-                complaint.setAttachmentPath(filePaths.toString());
-            }
+        }
+        if (!references.isEmpty()) {
+            complaint.setAttachmentPath(String.join(",", references));
         }
         
-        Complaint saved = complaintRepository.save(complaint);
+        Complaint saved;
+        try {
+            saved = complaintRepository.save(complaint);
+        } catch (RuntimeException e) {
+            attachmentStorageService.releaseAll(references);
+            throw e;
+        }
+        if (saved.getAttachmentPath() != null) {
+            for (String reference : saved.getAttachmentPath().split(",")) {
+                thumbnailService.enqueue(reference);
+            }
+        }
+        eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.SUBMITTED, saved.getId(),
+                null, saved.getStatus(), null, null));
         return ResponseEntity.ok(new ComplaintResponse("Complaint submitted successfully", saved.getId()));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Complaint>> getUserComplaints(@PathVariable Long userId) {
+    public ResponseEntity<List<ComplaintView>> getUserComplaints(@PathVariable Long userId) {
         List<Complaint> complaints = complaintRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return ResponseEntity.ok(complaints);
+        return ResponseEntity.ok(complaints.stream().map(ComplaintView::of).toList());
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Complaint> getComplaintById(@PathVariable Long id) {
-        Complaint complaint = complaintRepository.findById(id).orElse(null);
+    public ResponseEntity<ComplaintView> getComplaintById(@PathVariable Long id) {
+        Complaint complaint = complaintRepository.findDetailedById(id).orElse(null);
         if (complaint == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(complaint);
+        return ResponseEntity.ok(ComplaintView.of(complaint));
+    }
+    
+    /**
+     * The complaint with both message threads and, when officers=true, the officers it can
+     * be assigned to. Parts that time out are listed in unavailable; only a missing
+     * complaint fails the request.
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ComplaintDetail> getComplaintDetail(@PathVariable Long id,
+                                                              @RequestParam(defaultValue = "false") boolean officers) {
+        ComplaintDetail detail = complaintDetailService.load(id, officers);
+        if (detail.complaint() == null) {
+            return detail.unavailable().contains(ComplaintDetailService.COMPLAINT)
+                    ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()
+                    : ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(detail);
+    }
+
+    /**
+     * Who submitted, assigned, re-statused or messaged on the complaint and when, oldest
+     * first, with the time it took to be assigned and resolved.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ComplaintTimeline> getComplaintHistory(@PathVariable Long id) {
+        return complaintHistoryService.timeline(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/attachments/{index}")
+    public void downloadAttachment(@PathVariable Long id, @PathVariable int index,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String reference = findAttachmentReference(id, index);
+        Path file = reference != null ? attachmentStorageService.resolve(reference) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String hash = AttachmentStorageService.blobHash(reference);
+        String fileName = reference.substring(reference.indexOf('_') + 1);
+        if (hash != null) {
+            // Content-addressed blobs never change, so browsers may keep them indefinitely.
+            fileDownloadService.serve(file, "\"" + hash + "\"", "private, max-age=31536000, immutable",
+                    fileName, request, response);
+        } else {
+            fileDownloadService.serve(file, null, "private, max-age=86400", fileName, request, response);
+        }
+    }
+    
+    @GetMapping("/{id}/attachments/{index}/thumbnail")
+    public void downloadThumbnail(@PathVariable Long id, @PathVariable int index,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String reference = findAttachmentReference(id, index);
+        if (reference == null || !ThumbnailService.isImage(reference)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path thumbnail = thumbnailService.findThumbnail(reference);
+        if (thumbnail == null) {
+            // Not rendered yet (or dropped under load): queue it and let the client retry.
+            thumbnailService.enqueue(reference);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            return;
+        }
+
+        String hash = AttachmentStorageService.blobHash(reference);
+        String fileName = "thumbnail_" + index + ".jpg";
+        if (hash != null) {
+            // The same attachment renders differently under another thumbnails.max-dimension.
+            String etag = "\"" + hash + "-thumb-" + thumbnailService.getMaxDimension() + "\"";
+            fileDownloadService.serve(thumbnail, etag, "private, max-age=31536000, immutable",
+                    fileName, request, response);
+        } else {
+            fileDownloadService.serve(thumbnail, null, "private, max-age=86400", fileName, request, response);
+        }
     }
     
+    /**
+     * Edits the complaint's subject, description, category or priority. An optional
+     * {@code version} parameter makes the edit conditional on the version the citizen last
+     * saw, so two edits of the same complaint cannot silently overwrite each other.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateComplaint(@PathVariable Long id, @RequestBody Complaint updatedComplaint) {
+    public ResponseEntity<?> updateComplaint(@PathVariable Long id, @RequestBody Complaint updatedComplaint,
+                                             @RequestParam(required = false) Long version) {
         Complaint complaint = complaintRepository.findById(id).orElse(null);
         if (complaint == null) {
             return ResponseEntity.notFound().build();
         }
+        if (version != null && version != complaint.getVersion()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Complaint was changed by someone else, reload and retry");
+        }
         
+        String previousCategory = complaint.getCategory();
+        String previousPriority = complaint.getPriority();
         if (updatedComplaint.getSubject() != null) complaint.setSubject(updatedComplaint.getSubject());
         if (updatedComplaint.getDescription() != null) complaint.setDescription(updatedComplaint.getDescription());
         if (updatedComplaint.getCategory() != null) complaint.setCategory(updatedComplaint.getCategory());
         if (updatedComplaint.getPriority() != null) complaint.setPriority(updatedComplaint.getPriority());
         
-        complaintRepository.save(complaint);
+        try {
+            complaintRepository.save(complaint);
+        } catch (OptimisticLockingFailureException e) {
+            // The complaint changed between reading it above and saving it.
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Complaint was changed by someone else, reload and retry");
+        }
+        if (!Objects.equals(previousCategory, complaint.getCategory())
+                || !Objects.equals(previousPriority, complaint.getPriority())) {
+            // Escalation deadlines depend on both.
+            Long assigneeId = complaint.getAssignedTo() != null ? complaint.getAssignedTo().getId() : null;
+            eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.UPDATED, id,
+                    complaint.getStatus(), complaint.getStatus(), assigneeId, assigneeId));
+        }
         return ResponseEntity.ok(new ComplaintResponse("Complaint updated successfully", id));
     }
     
+    /**
+     * Withdraws the complaint unless it is already resolved. An optional {@code version}
+     * parameter makes the change conditional on the version the citizen last saw.
+     */
     @PutMapping("/{id}/withdraw")
-    public ResponseEntity<?> withdrawComplaint(@PathVariable Long id) {
-        Complaint complaint = complaintRepository.findById(id).orElse(null);
-        if (complaint == null) {
+    public ResponseEntity<?> withdrawComplaint(@PathVariable Long id, @RequestParam(required = false) Long version) {
+        ComplaintState previous;
+        try {
+            previous = complaintTransitionService.changeStatus(id, ComplaintStatus.WITHDRAWN, version).orElse(null);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Complaint was changed by someone else, reload and retry");
+        }
+        if (previous == null) {
             return ResponseEntity.notFound().build();
         }
         
-        complaint.setStatus("WITHDRAWN");
-        complaintRepository.save(complaint);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.WITHDRAWN, id,
+                previous.status(), ComplaintStatus.WITHDRAWN.label(), previous.assigneeId(), previous.assigneeId()));
         
         return ResponseEntity.ok(new ComplaintResponse("Complaint withdrawn successfully", id));
     }
 
+    private String findAttachmentReference(Long id, int index) {
+        String attachmentPath = complaintRepository.findAttachmentPathById(id).orElse(null);
+        if (attachmentPath == null || index < 0) {
+            return null;
+        }
+        String[] references = attachmentPath.split(",");
+        return index < references.length ? references[index] : null;
+    }
+
     static class ComplaintResponse {
         public String message;
         public Long complaintId;
@@ -0,0 +1,52 @@
+package org.example.springapp.controller;
+
+import org.example.springapp.dto.UserAccount;
+import org.example.springapp.service.EventStreamService;
+import org.example.springapp.service.UserLookupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Server-Sent Event stream of complaint and message changes. Dashboards connect
+ * without complaint ids and receive the changes their role is scoped to; detail pages
+ * pass the complaint they show. Browsers' EventSource cannot set headers, so the JWT
+ * may also be passed as the access_token query parameter on this path.
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "http://localhost:3000")
+public class EventController {
+
+    private static final int MAX_COMPLAINTS_PER_STREAM = 20;
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(required = false) List<Long> complaintId,
+                                                Authentication auth) throws IOException {
+        List<Long> complaintIds = complaintId != null ? complaintId : List.of();
+        if (complaintIds.size() > MAX_COMPLAINTS_PER_STREAM) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<UserAccount> user = userLookupService.findByUsername(auth.getName());
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String role = user.get().role().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok(eventStreamService.subscribe(role, user.get().id(), complaintIds));
+    }
+}
@@ -1,14 +1,26 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.MessageView;
+import org.example.springapp.dto.UserSummary;
 import org.example.springapp.entity.Message;
 import org.example.springapp.entity.Complaint;
-import org.example.springapp.entity.User;
+import org.example.springapp.event.MessagePostedEvent;
 import org.example.springapp.repository.MessageRepository;
 import org.example.springapp.repository.ComplaintRepository;
 import org.example.springapp.repository.UserRepository;
+import org.example.springapp.service.UserLookupService;
+import org.example.springapp.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +28,12 @@ import java.util.Map;
 @RequestMapping("/api/messages")
 @CrossOrigin(origins = "http://localhost:3000")
 public class MessageController {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // createdAt is taken when a message is built, not when it commits, so a slow post can
+    // land behind a cursor a poll has already returned. since re-reads this much before it.
+    private static final Duration SINCE_OVERLAP = Duration.ofSeconds(5);
     
     @Autowired
     private MessageRepository messageRepository;
@@ -25,27 +43,57 @@ public class MessageController {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @GetMapping("/complaint/{complaintId}/public")
-    public ResponseEntity<List<Message>> getPublicMessages(@PathVariable Long complaintId) {
-        List<Message> messages = messageRepository.findPublicMessagesByComplaintId(complaintId);
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<?> getPublicMessages(@PathVariable Long complaintId,
+                                               @RequestParam(required = false) String since,
+                                               @RequestParam(required = false) String before,
+                                               @RequestParam(required = false) Integer limit) {
+        if (since == null && before == null && limit == null) {
+            List<Message> messages = messageRepository.findPublicMessagesByComplaintId(complaintId);
+            return ResponseEntity.ok(messages.stream().map(MessageView::of).toList());
+        }
+        return page(since, before, limit,
+                (createdAt, id, pageable) -> messageRepository.findByTypeAfter(complaintId, "PUBLIC", createdAt, id, pageable),
+                (createdAt, id, pageable) -> messageRepository.findByTypeBefore(complaintId, "PUBLIC", createdAt, id, pageable));
     }
     
     @GetMapping("/complaint/{complaintId}/private")
-    public ResponseEntity<List<Message>> getPrivateMessages(@PathVariable Long complaintId) {
-        List<Message> messages = messageRepository.findPrivateMessagesByComplaintId(complaintId);
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<?> getPrivateMessages(@PathVariable Long complaintId,
+                                                @RequestParam(required = false) String since,
+                                                @RequestParam(required = false) String before,
+                                                @RequestParam(required = false) Integer limit) {
+        if (since == null && before == null && limit == null) {
+            List<Message> messages = messageRepository.findPrivateMessagesByComplaintId(complaintId);
+            return ResponseEntity.ok(messages.stream().map(MessageView::of).toList());
+        }
+        return page(since, before, limit,
+                (createdAt, id, pageable) -> messageRepository.findByTypeAfter(complaintId, "PRIVATE", createdAt, id, pageable),
+                (createdAt, id, pageable) -> messageRepository.findByTypeBefore(complaintId, "PRIVATE", createdAt, id, pageable));
     }
     
     @GetMapping("/complaint/{complaintId}/user/{userId}")
-    public ResponseEntity<List<Message>> getMessagesForUser(@PathVariable Long complaintId, @PathVariable Long userId) {
-        List<Message> messages = messageRepository.findMessagesByComplaintIdAndUserId(complaintId, userId);
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<?> getMessagesForUser(@PathVariable Long complaintId, @PathVariable Long userId,
+                                                @RequestParam(required = false) String since,
+                                                @RequestParam(required = false) String before,
+                                                @RequestParam(required = false) Integer limit) {
+        if (since == null && before == null && limit == null) {
+            List<Message> messages = messageRepository.findMessagesByComplaintIdAndUserId(complaintId, userId);
+            return ResponseEntity.ok(messages.stream().map(MessageView::of).toList());
+        }
+        return page(since, before, limit,
+                (createdAt, id, pageable) -> messageRepository.findForUserAfter(complaintId, userId, createdAt, id, pageable),
+                (createdAt, id, pageable) -> messageRepository.findForUserBefore(complaintId, userId, createdAt, id, pageable));
     }
     
     @PostMapping("/send")
-    public ResponseEntity<Message> sendMessage(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<MessageView> sendMessage(@RequestBody Map<String, Object> request) {
         try {
             Long complaintId = Long.valueOf(request.get("complaintId").toString());
             Long senderId = Long.valueOf(request.get("senderId").toString());
@@ -54,27 +102,107 @@ public class MessageController {
             Long recipientId = request.get("recipientId") != null ? 
                 Long.valueOf(request.get("recipientId").toString()) : null;
             
-            Complaint complaint = complaintRepository.findById(complaintId)
-                .orElseThrow(() -> new RuntimeException("Complaint not found"));
-            User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new RuntimeException("Sender not found"));
+            if (!complaintRepository.existsById(complaintId)) {
+                throw new RuntimeException("Complaint not found");
+            }
+            // Only the foreign key is needed, so skip loading the complaint and its users.
+            Complaint complaint = complaintRepository.getReferenceById(complaintId);
+            // Users are checked against the cache and linked by reference, so posting costs
+            // no user queries; the response is built from the cached summaries.
+            UserSummary sender = userLookupService.findById(senderId)
+                .orElseThrow(() -> new RuntimeException("Sender not found")).summary();
             
             Message message = new Message();
             message.setComplaint(complaint);
-            message.setSender(sender);
+            message.setSender(userRepository.getReferenceById(senderId));
             message.setContent(content);
             message.setMessageType(messageType);
             
+            UserSummary recipient = null;
             if (recipientId != null) {
-                User recipient = userRepository.findById(recipientId)
-                    .orElseThrow(() -> new RuntimeException("Recipient not found"));
-                message.setRecipient(recipient);
+                recipient = userLookupService.findById(recipientId)
+                    .orElseThrow(() -> new RuntimeException("Recipient not found")).summary();
+                message.setRecipient(userRepository.getReferenceById(recipientId));
             }
             
             Message savedMessage = messageRepository.save(message);
-            return ResponseEntity.ok(savedMessage);
+            eventPublisher.publishEvent(new MessagePostedEvent(complaintId, savedMessage.getId(), messageType,
+                    senderId, recipientId));
+            return ResponseEntity.ok(MessageView.of(savedMessage, sender, recipient));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Thread endpoints return the whole thread as a plain list when called without
+     * parameters. With since, before or limit they return one page instead. since=cursor
+     * fetches only messages newer than the cursor; an empty value starts at the beginning.
+     * It also returns again the messages from the few seconds before the cursor, which
+     * catches posts that committed after an earlier poll read past them, so clients must
+     * drop items whose id they already have. before=cursor, or limit alone, pages back from
+     * the latest message. Items are always oldest first.
+     */
+    private ResponseEntity<?> page(String since, String before, Integer limit, CursorQuery after, CursorQuery beforeQuery) {
+        KeysetCursor cursor;
+        try {
+            String raw = since != null ? since : before;
+            cursor = raw != null && !raw.isEmpty() ? KeysetCursor.decode(raw) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime cursorCreatedAt = cursor != null ? cursor.getCreatedAt() : null;
+        Long cursorId = cursor != null ? cursor.getId() : null;
+
+        // One extra row tells whether more messages lie in the requested direction.
+        List<Message> rows;
+        if (since != null) {
+            rows = after.find(cursorCreatedAt, cursorId, PageRequest.of(0, pageSize + 1));
+        } else {
+            rows = beforeQuery.find(cursorCreatedAt, cursorId, PageRequest.of(0, pageSize + 1));
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<Message> items = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (since == null) {
+            Collections.reverse(items);
+        }
+
+        String newestCursor = items.isEmpty() ? (since != null ? since : null) : cursorOf(items.get(items.size() - 1));
+        if (since != null && cursor != null) {
+            // Read apart from the page, newest first, so the overlap never crowds out newer
+            // messages and newestCursor still moves past the requested cursor.
+            LocalDateTime overlapStart = cursorCreatedAt.minus(SINCE_OVERLAP);
+            List<Message> overlap = new ArrayList<>(beforeQuery.find(cursorCreatedAt, cursorId, PageRequest.of(0, MAX_PAGE_SIZE))
+                    .stream().filter(message -> !message.getCreatedAt().isBefore(overlapStart)).toList());
+            Collections.reverse(overlap);
+            items.addAll(0, overlap);
+        }
+        String oldestCursor = items.isEmpty() ? null : cursorOf(items.get(0));
+        return ResponseEntity.ok(new MessagePageResponse(
+                items.stream().map(MessageView::of).toList(), newestCursor, oldestCursor, hasMore));
+    }
+
+    private static String cursorOf(Message message) {
+        return new KeysetCursor(message.getCreatedAt(), message.getId()).encode();
+    }
+
+    @FunctionalInterface
+    private interface CursorQuery {
+        List<Message> find(LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+    }
+
+    static class MessagePageResponse {
+        public List<MessageView> items;
+        public String newestCursor;
+        public String oldestCursor;
+        public boolean hasMore;
+
+        public MessagePageResponse(List<MessageView> items, String newestCursor, String oldestCursor, boolean hasMore) {
+            this.items = items;
+            this.newestCursor = newestCursor;
+            this.oldestCursor = oldestCursor;
+            this.hasMore = hasMore;
+        }
+    }
 }
\ No newline at end of file
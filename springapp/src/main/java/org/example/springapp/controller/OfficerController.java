@@ -1,8 +1,17 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.dto.ComplaintView;
 import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.event.ComplaintChangedEvent;
 import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.service.ComplaintStatsService;
+import org.example.springapp.service.ComplaintTransitionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,40 +28,65 @@ public class OfficerController {
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private ComplaintStatsService complaintStatsService;
+
+    @Autowired
+    private ComplaintTransitionService complaintTransitionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/complaints/{officerId}")
-    public ResponseEntity<List<Complaint>> getAssignedComplaints(@PathVariable Long officerId) {
+    public ResponseEntity<List<ComplaintView>> getAssignedComplaints(@PathVariable Long officerId) {
         List<Complaint> complaints = complaintRepository.findByAssignedToId(officerId);
-        return ResponseEntity.ok(complaints);
+        return ResponseEntity.ok(complaints.stream().map(ComplaintView::of).toList());
     }
 
     @GetMapping("/stats/{officerId}")
     public ResponseEntity<Map<String, Integer>> getOfficerStats(@PathVariable Long officerId) {
-        List<Complaint> complaints = complaintRepository.findByAssignedToId(officerId);
-        
-        Map<String, Integer> stats = new HashMap<>();
-        stats.put("assigned", complaints.size());
-        stats.put("inProgress", (int) complaints.stream().filter(c -> "IN PROGRESS".equals(c.getStatus())).count());
-        stats.put("resolved", (int) complaints.stream().filter(c -> "Resolved".equals(c.getStatus())).count());
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(complaintStatsService.getOfficerStats(officerId));
     }
 
+    /**
+     * Moves the complaint to another status. An optional {@code version} makes the change
+     * conditional on the version the officer last saw; 409 when it is stale or the
+     * complaint's status does not allow the change.
+     */
     @PutMapping("/complaints/{id}/status")
     public ResponseEntity<Map<String, String>> updateComplaintStatus(
             @PathVariable Long id, 
             @RequestBody Map<String, String> request) {
         
-        Optional<Complaint> complaintOpt = complaintRepository.findById(id);
-        if (complaintOpt.isPresent()) {
-            Complaint complaint = complaintOpt.get();
-            complaint.setStatus(request.get("status"));
-            complaintRepository.save(complaint);
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Status updated successfully");
-            return ResponseEntity.ok(response);
+        ComplaintStatus status;
+        Long version;
+        try {
+            status = ComplaintStatus.parse(request.get("status"));
+            version = request.get("version") != null ? Long.valueOf(request.get("version")) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(message("Invalid status or version"));
         }
         
-        return ResponseEntity.notFound().build();
+        Optional<ComplaintState> previous;
+        try {
+            previous = complaintTransitionService.changeStatus(id, status, version);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(message(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(message("Complaint was changed by someone else, reload and retry"));
+        }
+        if (previous.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ComplaintState state = previous.get();
+        eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.STATUS_CHANGED, id,
+                state.status(), status.label(), state.assigneeId(), state.assigneeId()));
+        return ResponseEntity.ok(message("Status updated successfully"));
+    }
+
+    private static Map<String, String> message(String text) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", text);
+        return response;
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package org.example.springapp.controller;
 
+import org.example.springapp.dto.UserAccount;
+import org.example.springapp.dto.UserSummary;
 import org.example.springapp.entity.User;
 import org.example.springapp.repository.UserRepository;
+import org.example.springapp.service.UserLookupService;
 import org.example.springapp.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,24 +22,26 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
+        Optional<UserAccount> user = userLookupService.findById(id);
         if (user.isPresent()) {
-            User userData = user.get();
-            return ResponseEntity.ok(new UserResponse(userData.getId(), userData.getUsername(), 
-                                                    userData.getEmail(), userData.getRole()));
+            UserAccount userData = user.get();
+            return ResponseEntity.ok(new UserResponse(userData.id(), userData.username(),
+                                                    userData.email(), userData.role()));
         }
         return ResponseEntity.notFound().build();
     }
 
     @GetMapping("/officers")
-    public ResponseEntity<List<User>> getOfficers() {
-        List<User> officers = userRepository.findByRole("officer");
-        return ResponseEntity.ok(officers);
+    public ResponseEntity<List<UserSummary>> getOfficers() {
+        return ResponseEntity.ok(userLookupService.getOfficers());
     }
 
     @PostMapping("/reset-password")
@@ -49,6 +54,7 @@ public class UserController {
             if (user.getPassword().equals(request.currentPassword)) {
                 user.setPassword(request.newPassword);
                 userRepository.save(user);
+                userLookupService.evict(user);
                 return ResponseEntity.ok(new MessageResponse("Password updated successfully"));
             }
             return ResponseEntity.badRequest().body(new MessageResponse("Current password is incorrect"));
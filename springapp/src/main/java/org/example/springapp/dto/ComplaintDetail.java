@@ -0,0 +1,18 @@
+package org.example.springapp.dto;
+
+import java.util.List;
+
+/**
+ * Everything a complaint detail page shows, loaded in one request. Parts that could not
+ * be loaded in time are null and named in {@code unavailable} so the client can fetch
+ * them separately. The cursors continue each thread with {@code since=}.
+ */
+public record ComplaintDetail(
+        ComplaintView complaint,
+        List<MessageView> privateMessages,
+        String privateCursor,
+        List<MessageView> publicMessages,
+        String publicCursor,
+        List<UserSummary> officers,
+        List<String> unavailable) {
+}
@@ -0,0 +1,36 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.ComplaintHistory;
+
+import java.time.LocalDateTime;
+
+/**
+ * History entry as returned by the API. Status fields are set for submissions and status
+ * changes, assignee fields for assignments, and message fields for posted messages.
+ */
+public record ComplaintHistoryView(
+        Long id,
+        String eventType,
+        String actor,
+        String previousStatus,
+        String status,
+        Long previousAssigneeId,
+        Long assigneeId,
+        Long messageId,
+        String messageType,
+        LocalDateTime occurredAt) {
+
+    public static ComplaintHistoryView of(ComplaintHistory entry) {
+        return new ComplaintHistoryView(
+                entry.getId(),
+                entry.getEventType(),
+                entry.getActor(),
+                entry.getPreviousStatus(),
+                entry.getStatus(),
+                entry.getPreviousAssigneeId(),
+                entry.getAssigneeId(),
+                entry.getMessageId(),
+                entry.getMessageType(),
+                entry.getOccurredAt());
+    }
+}
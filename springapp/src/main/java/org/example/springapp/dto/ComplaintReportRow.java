@@ -0,0 +1,19 @@
+package org.example.springapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged row used by report exports. Selecting it through a constructor
+ * expression keeps exported rows out of the persistence context.
+ */
+public record ComplaintReportRow(
+        Long id,
+        String subject,
+        String category,
+        String priority,
+        String status,
+        String submissionType,
+        LocalDateTime createdAt,
+        String submittedBy,
+        String assignedTo) {
+}
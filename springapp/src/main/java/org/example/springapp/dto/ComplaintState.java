@@ -0,0 +1,8 @@
+package org.example.springapp.dto;
+
+/**
+ * Status, assignee and version of a complaint as they were before a state change, so
+ * the change can be made conditional on them and publish accurate change events.
+ */
+public record ComplaintState(Long id, String status, Long assigneeId, long version) {
+}
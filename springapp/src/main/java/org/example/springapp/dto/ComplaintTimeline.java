@@ -0,0 +1,45 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.event.ComplaintChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A complaint's history, oldest first, with the times derived from it. {@code assignedAt}
+ * is the first assignment and {@code resolvedAt} the resolution the complaint is still
+ * in, if any; the durations count from submission and are null until those happen.
+ */
+public record ComplaintTimeline(
+        Long complaintId,
+        LocalDateTime submittedAt,
+        LocalDateTime assignedAt,
+        LocalDateTime resolvedAt,
+        Long timeToAssignSeconds,
+        Long timeToResolveSeconds,
+        List<ComplaintHistoryView> events) {
+
+    public static ComplaintTimeline of(Long complaintId, LocalDateTime submittedAt, List<ComplaintHistoryView> events) {
+        String assigned = ComplaintChangedEvent.Type.ASSIGNED.name();
+        String resolved = ComplaintStatus.RESOLVED.label();
+        LocalDateTime assignedAt = null;
+        LocalDateTime resolvedAt = null;
+        for (ComplaintHistoryView event : events) {
+            if (assignedAt == null && assigned.equals(event.eventType())) {
+                assignedAt = event.occurredAt();
+            }
+            if (event.status() != null && !event.status().equals(event.previousStatus())) {
+                // A reopened complaint is no longer resolved.
+                resolvedAt = resolved.equals(event.status()) ? event.occurredAt() : null;
+            }
+        }
+        return new ComplaintTimeline(complaintId, submittedAt, assignedAt, resolvedAt,
+                secondsBetween(submittedAt, assignedAt), secondsBetween(submittedAt, resolvedAt), events);
+    }
+
+    private static Long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return from != null && to != null ? Duration.between(from, to).toSeconds() : null;
+    }
+}
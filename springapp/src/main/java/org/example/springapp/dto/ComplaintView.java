@@ -0,0 +1,42 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.Complaint;
+
+import java.time.LocalDateTime;
+
+/**
+ * Complaint as returned by the API. Keeps the entity's JSON shape, but the submitter and
+ * assignee are reduced to {@link UserSummary}.
+ */
+public record ComplaintView(
+        Long id,
+        String subject,
+        String description,
+        String submissionType,
+        String attachmentPath,
+        LocalDateTime createdAt,
+        String status,
+        String priority,
+        String category,
+        LocalDateTime escalatedAt,
+        UserSummary user,
+        UserSummary assignedTo,
+        long version) {
+
+    public static ComplaintView of(Complaint complaint) {
+        return new ComplaintView(
+                complaint.getId(),
+                complaint.getSubject(),
+                complaint.getDescription(),
+                complaint.getSubmissionType(),
+                complaint.getAttachmentPath(),
+                complaint.getCreatedAt(),
+                complaint.getStatus(),
+                complaint.getPriority(),
+                complaint.getCategory(),
+                complaint.getEscalatedAt(),
+                UserSummary.of(complaint.getUser()),
+                UserSummary.of(complaint.getAssignedTo()),
+                complaint.getVersion());
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.springapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The slice of an in-progress complaint the escalation engine needs to compute its
+ * SLA deadline.
+ */
+public record EscalationCandidate(
+        Long id,
+        LocalDateTime createdAt,
+        String priority,
+        String category,
+        LocalDateTime escalatedAt) {
+}
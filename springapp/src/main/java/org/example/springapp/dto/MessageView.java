@@ -0,0 +1,38 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.Message;
+
+import java.time.LocalDateTime;
+
+/**
+ * Message as returned by the API. The complaint is referenced by id only, because every
+ * message in a thread belongs to the same complaint.
+ */
+public record MessageView(
+        Long id,
+        String content,
+        String messageType,
+        LocalDateTime createdAt,
+        Long complaintId,
+        UserSummary sender,
+        UserSummary recipient) {
+
+    public static MessageView of(Message message) {
+        return of(message, UserSummary.of(message.getSender()), UserSummary.of(message.getRecipient()));
+    }
+
+    /**
+     * Uses the given summaries instead of the message's users, so their proxies are not
+     * initialised.
+     */
+    public static MessageView of(Message message, UserSummary sender, UserSummary recipient) {
+        return new MessageView(
+                message.getId(),
+                message.getContent(),
+                message.getMessageType(),
+                message.getCreatedAt(),
+                message.getComplaint().getId(),
+                sender,
+                recipient);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.springapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification pushed to event stream subscribers. It says what changed, not the new
+ * state; clients refetch the complaint or pull new messages with their cursor.
+ */
+public record PushEvent(
+        String type,
+        Long complaintId,
+        String status,
+        Long assigneeId,
+        Long messageId,
+        String messageType,
+        LocalDateTime occurredAt) {
+}
@@ -0,0 +1,19 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.User;
+
+/**
+ * Immutable snapshot of a user row as kept in the user caches. It carries the password so
+ * logins can be checked from the cache, so it must never be returned to clients; use
+ * {@link #summary()} for that.
+ */
+public record UserAccount(Long id, String username, String password, String email, String role) {
+
+    public static UserAccount of(User user) {
+        return new UserAccount(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getRole());
+    }
+
+    public UserSummary summary() {
+        return new UserSummary(id, username, role);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.springapp.dto;
+
+import org.example.springapp.entity.User;
+
+/**
+ * Public view of a user as embedded in complaints, messages and officer lists.
+ * Never carries the password or email.
+ */
+public record UserSummary(Long id, String username, String role) {
+
+    public static UserSummary of(User user) {
+        return user != null ? new UserSummary(user.getId(), user.getUsername(), user.getRole()) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.springapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attachment_blobs")
+@Data
+public class AttachmentBlob {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+    
+    @Column(nullable = false)
+    private long size;
+    
+    @Column
+    private String contentType;
+    
+    @Column(nullable = false)
+    private long refCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -5,11 +5,17 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+    @Index(name = "idx_complaints_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_complaints_assignee_status", columnList = "assigned_to, status"),
+    @Index(name = "idx_complaints_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_complaints_created", columnList = "created_at")
+})
 @Data
 public class Complaint {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "complaints_seq")
+    @SequenceGenerator(name = "complaints_seq", sequenceName = "complaints_seq", allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -28,19 +34,27 @@ public class Complaint {
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @Column
-    private String status = "NEW";
+    private String status = ComplaintStatus.NEW.label();
     
     @Column
     private String priority = "Medium";
     
     @Column
     private String category = "General";
+
+    @Column
+    private LocalDateTime escalatedAt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
     private User assignedTo;
+
+    // Bumped by every edit, status change or assignment; clients send it back to detect lost updates.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package org.example.springapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a complaint's append-only history: a submission, status change,
+ * assignment, withdrawal or message. Entries are written in batches by
+ * {@link org.example.springapp.service.ComplaintHistoryService}, never updated, and
+ * reference complaints, users and messages by id only so they do not depend on the
+ * order in which those rows are written.
+ */
+@Entity
+@Table(name = "complaint_history", indexes = {
+    @Index(name = "idx_complaint_history_complaint_occurred", columnList = "complaint_id, occurred_at")
+})
+@Data
+public class ComplaintHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long complaintId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    // Username of whoever made the change; null for anonymous submissions.
+    private String actor;
+
+    private String previousStatus;
+
+    private String status;
+
+    private Long previousAssigneeId;
+
+    private Long assigneeId;
+
+    private Long messageId;
+
+    private String messageType;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
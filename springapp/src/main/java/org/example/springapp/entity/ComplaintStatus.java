@@ -0,0 +1,59 @@
+package org.example.springapp.entity;
+
+import java.util.Locale;
+
+/**
+ * Complaint lifecycle: NEW → IN PROGRESS → RESOLVED or WITHDRAWN. A resolved complaint
+ * can be reopened, a new one withdrawn, and an in-progress one reassigned. Escalation is
+ * not a status of its own but the {@code escalatedAt} marker on an IN PROGRESS complaint.
+ * The status column holds {@link #label()}.
+ */
+public enum ComplaintStatus {
+    NEW("NEW"),
+    IN_PROGRESS("IN PROGRESS"),
+    RESOLVED("RESOLVED"),
+    WITHDRAWN("WITHDRAWN");
+
+    private final String label;
+
+    ComplaintStatus(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Whether a complaint in this status may move to {@code target}. Staying in the same
+     * status is always allowed, so repeated requests are harmless.
+     */
+    public boolean canMoveTo(ComplaintStatus target) {
+        if (target == this) {
+            return true;
+        }
+        return switch (this) {
+            case NEW -> target == IN_PROGRESS || target == WITHDRAWN;
+            case IN_PROGRESS -> target == RESOLVED || target == WITHDRAWN;
+            case RESOLVED -> target == IN_PROGRESS;
+            case WITHDRAWN -> false;
+        };
+    }
+
+    /**
+     * Parses a status in any casing, with a space or an underscore in "IN PROGRESS".
+     *
+     * @throws IllegalArgumentException for anything else
+     */
+    public static ComplaintStatus parse(String value) {
+        if (value != null) {
+            String normalized = value.trim().replace('_', ' ').toUpperCase(Locale.ROOT);
+            for (ComplaintStatus status : values()) {
+                if (status.label.equals(normalized)) {
+                    return status;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown complaint status: " + value);
+    }
+}
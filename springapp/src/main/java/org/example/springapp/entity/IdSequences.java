@@ -0,0 +1,24 @@
+package org.example.springapp.entity;
+
+import java.util.Map;
+
+/**
+ * Id sequences of the entities that use pooled ids. A sequence costs one round trip per
+ * {@link #ALLOCATION_SIZE} rows, and because the id is known before the row is written,
+ * Hibernate can batch the inserts, which it cannot do for IDENTITY columns. MySQL has no
+ * sequences, so Hibernate keeps each one as a single-row table with a {@code next_val}
+ * column.
+ */
+public final class IdSequences {
+
+    /** Ids Hibernate reserves per sequence round trip. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    /** Sequence name by the table whose ids it generates. */
+    public static final Map<String, String> BY_TABLE = Map.of(
+            "complaints", "complaints_seq",
+            "messages", "messages_seq");
+
+    private IdSequences() {
+    }
+}
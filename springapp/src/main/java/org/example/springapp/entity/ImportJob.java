@@ -0,0 +1,49 @@
+package org.example.springapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A CSV import and its checkpoint. {@code recordsCommitted} advances in the same
+ * transaction as each chunk of inserted rows, so a resumed import skips exactly the
+ * records that are already in the database.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String fileName;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    @Column(nullable = false)
+    private long recordsCommitted;
+    
+    @Column(nullable = false)
+    private long complaintsImported;
+    
+    @Column(nullable = false)
+    private long messagesImported;
+    
+    @Column(nullable = false)
+    private long recordsRejected;
+    
+    @Column(columnDefinition = "TEXT")
+    private String lastRejection;
+    
+    @Column(columnDefinition = "TEXT")
+    private String error;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,72 @@
+package org.example.springapp.event;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a complaint has been saved with a new status or assignee, or, as
+ * {@link Type#UPDATED}, with a new priority or category. Carries both the previous and
+ * the new status and assignee so listeners can maintain derived state without
+ * reloading the complaint.
+ */
+public class ComplaintChangedEvent {
+
+    public enum Type { SUBMITTED, ASSIGNED, STATUS_CHANGED, WITHDRAWN, UPDATED }
+
+    private final Type type;
+    private final Long complaintId;
+    private final String previousStatus;
+    private final String status;
+    private final Long previousAssigneeId;
+    private final Long assigneeId;
+    private final String actor;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    public ComplaintChangedEvent(Type type, Long complaintId, String previousStatus, String status,
+                                 Long previousAssigneeId, Long assigneeId) {
+        this.type = type;
+        this.complaintId = complaintId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.previousAssigneeId = previousAssigneeId;
+        this.assigneeId = assigneeId;
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        this.actor = auth != null && !(auth instanceof AnonymousAuthenticationToken) ? auth.getName() : null;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getComplaintId() {
+        return complaintId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getPreviousAssigneeId() {
+        return previousAssigneeId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    /** Username of the caller who made the change, or null for anonymous submissions. */
+    public String getActor() {
+        return actor;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
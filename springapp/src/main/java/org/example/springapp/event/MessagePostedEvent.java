@@ -0,0 +1,59 @@
+package org.example.springapp.event;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a message has been saved on a complaint thread.
+ */
+public class MessagePostedEvent {
+
+    private final Long complaintId;
+    private final Long messageId;
+    private final String messageType;
+    private final Long senderId;
+    private final Long recipientId;
+    private final String actor;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    public MessagePostedEvent(Long complaintId, Long messageId, String messageType, Long senderId, Long recipientId) {
+        this.complaintId = complaintId;
+        this.messageId = messageId;
+        this.messageType = messageType;
+        this.senderId = senderId;
+        this.recipientId = recipientId;
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        this.actor = auth != null && !(auth instanceof AnonymousAuthenticationToken) ? auth.getName() : null;
+    }
+
+    public Long getComplaintId() {
+        return complaintId;
+    }
+
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public Long getSenderId() {
+        return senderId;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
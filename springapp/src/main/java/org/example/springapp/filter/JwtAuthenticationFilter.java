@@ -1,5 +1,9 @@
 package org.example.springapp.filter;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.example.springapp.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -8,43 +12,73 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource cannot send headers, so the event stream also accepts the token as a query parameter.
+    private static final String EVENT_STREAM_PATH = "/api/events";
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTokens;
+    private Timer invalidTokens;
+
+    @PostConstruct
+    void registerMeters() {
+        validTokens = validationTimer("valid");
+        invalidTokens = validationTimer("invalid");
+    }
+
+    private Timer validationTimer(String outcome) {
+        return Timer.builder("jwt.validation")
+                .description("Time to verify and parse a request's JWT, including cache hits")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwt = null;
-
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+        } else if (EVENT_STREAM_PATH.equals(request.getRequestURI())) {
+            jwt = request.getParameter("access_token");
+        }
+
+        Claims claims = null;
+        if (jwt != null) {
+            long started = System.nanoTime();
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
+                // Single verification per request; expired or tampered tokens throw here.
+                claims = jwtUtil.parseToken(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
             }
+            (claims != null ? validTokens : invalidTokens).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, username)) {
-                String role = jwtUtil.extractRole(jwt);
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String role = claims.get("role", String.class);
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    claims.getSubject(), null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,73 @@
+package org.example.springapp.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.springapp.util.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a user's reads on the primary while their writes may not have reached the
+ * replicas: during every mutating request, and for the read-your-writes window after one
+ * succeeded. Recent writers are remembered per instance only, so behind a load balancer
+ * without sticky sessions a read may still land on an instance that does not know them.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    @Value("${datasource.replicas.read-your-writes-window:PT5S}")
+    private Duration window;
+
+    private Cache<String, Boolean> recentWriters;
+
+    @PostConstruct
+    void start() {
+        recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean writing = !SAFE_METHODS.contains(request.getMethod());
+        String username = username();
+        if (writing || (username != null && recentWriters.getIfPresent(username) != null)) {
+            ReadYourWrites.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.unpin();
+            if (writing && username != null && response.getStatus() < 400) {
+                recentWriters.put(username, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static String username() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
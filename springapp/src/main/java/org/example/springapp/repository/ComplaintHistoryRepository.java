@@ -0,0 +1,19 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.entity.ComplaintHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ComplaintHistoryRepository extends JpaRepository<ComplaintHistory, Long> {
+
+    /** The complaint's history, oldest first; entries with the same timestamp keep their write order. */
+    @Transactional(readOnly = true)
+    @Query("SELECT h FROM ComplaintHistory h WHERE h.complaintId = :complaintId ORDER BY h.occurredAt ASC, h.id ASC")
+    List<ComplaintHistory> findTimeline(@Param("complaintId") Long complaintId);
+}
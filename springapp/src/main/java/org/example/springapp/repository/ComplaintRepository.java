@@ -1,18 +1,169 @@
 package org.example.springapp.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.springapp.dto.ComplaintReportRow;
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.dto.EscalationCandidate;
 import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+    String REPORT_FETCH_SIZE = "500";
+
+    // Submitter and assignee are lazy; read paths that render them fetch both in the same query.
+    // Listing and stats reads run read-only, so with replicas configured they are
+    // served by one; reads that feed a write stay on the primary.
+    @Override
+    @EntityGraph(attributePaths = {"user", "assignedTo"})
+    List<Complaint> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "assignedTo"})
+    List<Complaint> findAllById(Iterable<Long> ids);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"user", "assignedTo"})
+    Optional<Complaint> findDetailedById(Long id);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"user", "assignedTo"})
     List<Complaint> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"user", "assignedTo"})
     List<Complaint> findByAssignedToId(Long assignedToId);
+
+    @Transactional(readOnly = true)
     long countByStatus(String status);
-    
-    @Query("SELECT c FROM Complaint c WHERE c.status = 'IN PROGRESS' AND c.createdAt < DATEADD(DAY, -2, CURRENT_TIMESTAMP) ORDER BY c.createdAt ASC")
-    List<Complaint> findEscalatedComplaints();
-}
\ No newline at end of file
+
+    @Query("SELECT c.attachmentPath FROM Complaint c WHERE c.id = :id")
+    Optional<String> findAttachmentPathById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT c.createdAt FROM Complaint c WHERE c.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+    /** One row per (assignee id or null, status, count); seeds the in-memory statistics. */
+    @Transactional(readOnly = true)
+    @Query("SELECT c.assignedTo.id, c.status, COUNT(c) FROM Complaint c GROUP BY c.assignedTo.id, c.status")
+    List<Object[]> countGroupedByAssigneeAndStatus();
+
+    /** In-progress complaints with the fields needed to compute their SLA deadline. */
+    @Query("SELECT new org.example.springapp.dto.EscalationCandidate(c.id, c.createdAt, c.priority, c.category, c.escalatedAt) " +
+           "FROM Complaint c WHERE c.status = 'IN PROGRESS'")
+    List<EscalationCandidate> findEscalationCandidates();
+
+    @Query("SELECT new org.example.springapp.dto.EscalationCandidate(c.id, c.createdAt, c.priority, c.category, c.escalatedAt) " +
+           "FROM Complaint c WHERE c.id = :id AND c.status = 'IN PROGRESS'")
+    Optional<EscalationCandidate> findEscalationCandidate(@Param("id") Long id);
+
+    /** Marks the complaint escalated unless it has left IN PROGRESS or was already marked. */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.escalatedAt = :now " +
+           "WHERE c.id = :id AND c.status = 'IN PROGRESS' AND c.escalatedAt IS NULL")
+    int markEscalated(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new org.example.springapp.dto.ComplaintState(c.id, c.status, c.assignedTo.id, c.version) " +
+           "FROM Complaint c WHERE c.id = :id")
+    Optional<ComplaintState> findState(@Param("id") Long id);
+
+    /** Status and assignee of the given complaints, row-locked until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new org.example.springapp.dto.ComplaintState(c.id, c.status, c.assignedTo.id, c.version) " +
+           "FROM Complaint c WHERE c.id IN :ids")
+    List<ComplaintState> findStatesForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves one complaint to {@code status} if it still has the expected status and
+     * version. Returns 0 when another change got there first.
+     */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.status = :status, c.version = c.version + 1 " +
+           "WHERE c.id = :id AND c.status = :expectedStatus AND c.version = :expectedVersion")
+    int updateStatusIf(@Param("id") Long id, @Param("expectedStatus") String expectedStatus,
+                       @Param("expectedVersion") long expectedVersion, @Param("status") String status);
+
+    /** Assigns one complaint under the same condition as {@link #updateStatusIf}. */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.assignedTo = :officer, c.status = 'IN PROGRESS', c.version = c.version + 1 " +
+           "WHERE c.id = :id AND c.status = :expectedStatus AND c.version = :expectedVersion")
+    int assignIf(@Param("id") Long id, @Param("expectedStatus") String expectedStatus,
+                 @Param("expectedVersion") long expectedVersion, @Param("officer") User officer);
+
+    @Modifying
+    @Query("UPDATE Complaint c SET c.assignedTo = :officer, c.status = 'IN PROGRESS', c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int assignAll(@Param("ids") Collection<Long> ids, @Param("officer") User officer);
+
+    @Modifying
+    @Query("UPDATE Complaint c SET c.status = :status, c.version = c.version + 1 WHERE c.id IN :ids")
+    int updateStatusAll(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Keyset page over (createdAt DESC, id DESC). Every filter is optional; pass a null
+     * cursor for the first page and limit the result size through {@code pageable}.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT c FROM Complaint c LEFT JOIN FETCH c.user LEFT JOIN FETCH c.assignedTo " +
+           "WHERE (:status IS NULL OR c.status = :status) " +
+           "AND (:priority IS NULL OR c.priority = :priority) " +
+           "AND (:category IS NULL OR c.category = :category) " +
+           "AND (:assigneeId IS NULL OR c.assignedTo.id = :assigneeId) " +
+           "AND (:fromDate IS NULL OR c.createdAt >= :fromDate) " +
+           "AND (:toDate IS NULL OR c.createdAt < :toDate) " +
+           "AND (:cursorCreatedAt IS NULL OR c.createdAt < :cursorCreatedAt " +
+           "     OR (c.createdAt = :cursorCreatedAt AND c.id < :cursorId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Complaint> findPage(@Param("status") String status,
+                             @Param("priority") String priority,
+                             @Param("category") String category,
+                             @Param("assigneeId") Long assigneeId,
+                             @Param("fromDate") LocalDateTime fromDate,
+                             @Param("toDate") LocalDateTime toDate,
+                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                             @Param("cursorId") Long cursorId,
+                             Pageable pageable);
+
+    /**
+     * Streams report rows created in [from, to), optionally restricted to a set of categories.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = REPORT_FETCH_SIZE))
+    @Query("SELECT new org.example.springapp.dto.ComplaintReportRow(c.id, c.subject, c.category, c.priority, " +
+           "c.status, c.submissionType, c.createdAt, u.username, a.username) " +
+           "FROM Complaint c LEFT JOIN c.user u LEFT JOIN c.assignedTo a " +
+           "WHERE c.createdAt >= :fromDate AND c.createdAt < :toDate " +
+           "AND (:allCategories = true OR c.category IN :categories) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    Stream<ComplaintReportRow> streamReportRows(@Param("fromDate") LocalDateTime fromDate,
+                                                @Param("toDate") LocalDateTime toDate,
+                                                @Param("allCategories") boolean allCategories,
+                                                @Param("categories") List<String> categories);
+
+    @Query("SELECT COUNT(c) FROM Complaint c " +
+           "WHERE c.createdAt >= :fromDate AND c.createdAt < :toDate " +
+           "AND (:allCategories = true OR c.category IN :categories)")
+    long countReportRows(@Param("fromDate") LocalDateTime fromDate,
+                         @Param("toDate") LocalDateTime toDate,
+                         @Param("allCategories") boolean allCategories,
+                         @Param("categories") List<String> categories);
+}
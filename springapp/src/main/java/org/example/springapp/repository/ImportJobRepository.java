@@ -0,0 +1,18 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.updatedAt = CURRENT_TIMESTAMP WHERE j.status IN :from")
+    int updateStatus(@Param("from") Collection<String> from, @Param("status") String status);
+}
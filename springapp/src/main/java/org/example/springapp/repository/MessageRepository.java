@@ -1,21 +1,89 @@
 package org.example.springapp.repository;
 
 import org.example.springapp.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    
-    @Query("SELECT m FROM Message m WHERE m.complaint.id = :complaintId AND m.messageType = 'PUBLIC' ORDER BY m.createdAt ASC")
+
+    // Sender and recipient are fetched with the thread; the complaint stays a lazy reference.
+    // Thread reads run read-only, so with replicas configured they are served by one.
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.recipient " +
+           "WHERE m.complaint.id = :complaintId AND m.messageType = 'PUBLIC' ORDER BY m.createdAt ASC")
     List<Message> findPublicMessagesByComplaintId(@Param("complaintId") Long complaintId);
     
-    @Query("SELECT m FROM Message m WHERE m.complaint.id = :complaintId AND m.messageType = 'PRIVATE' ORDER BY m.createdAt ASC")
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.recipient " +
+           "WHERE m.complaint.id = :complaintId AND m.messageType = 'PRIVATE' ORDER BY m.createdAt ASC")
     List<Message> findPrivateMessagesByComplaintId(@Param("complaintId") Long complaintId);
     
-    @Query("SELECT m FROM Message m WHERE m.complaint.id = :complaintId AND (m.messageType = 'PUBLIC' OR (m.recipient.id = :userId OR m.sender.id = :userId)) ORDER BY m.createdAt ASC")
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender s LEFT JOIN FETCH m.recipient r " +
+           "WHERE m.complaint.id = :complaintId AND (m.messageType = 'PUBLIC' OR r.id = :userId OR s.id = :userId) " +
+           "ORDER BY m.createdAt ASC")
     List<Message> findMessagesByComplaintIdAndUserId(@Param("complaintId") Long complaintId, @Param("userId") Long userId);
+
+    /**
+     * Messages of one type strictly after the (createdAt, id) cursor, oldest first. A null
+     * cursor starts at the beginning of the thread; limit the result through {@code pageable}.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.recipient " +
+           "WHERE m.complaint.id = :complaintId AND m.messageType = :messageType " +
+           "AND (:cursorCreatedAt IS NULL OR m.createdAt > :cursorCreatedAt " +
+           "     OR (m.createdAt = :cursorCreatedAt AND m.id > :cursorId)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findByTypeAfter(@Param("complaintId") Long complaintId,
+                                  @Param("messageType") String messageType,
+                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    /** Messages of one type strictly before the cursor, newest first; a null cursor starts at the latest. */
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.recipient " +
+           "WHERE m.complaint.id = :complaintId AND m.messageType = :messageType " +
+           "AND (:cursorCreatedAt IS NULL OR m.createdAt < :cursorCreatedAt " +
+           "     OR (m.createdAt = :cursorCreatedAt AND m.id < :cursorId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findByTypeBefore(@Param("complaintId") Long complaintId,
+                                   @Param("messageType") String messageType,
+                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    /** Cursor variant of {@link #findMessagesByComplaintIdAndUserId}, oldest first. */
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender s LEFT JOIN FETCH m.recipient r " +
+           "WHERE m.complaint.id = :complaintId AND (m.messageType = 'PUBLIC' OR r.id = :userId OR s.id = :userId) " +
+           "AND (:cursorCreatedAt IS NULL OR m.createdAt > :cursorCreatedAt " +
+           "     OR (m.createdAt = :cursorCreatedAt AND m.id > :cursorId)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findForUserAfter(@Param("complaintId") Long complaintId,
+                                   @Param("userId") Long userId,
+                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    /** Cursor variant of {@link #findMessagesByComplaintIdAndUserId}, newest first. */
+    @Transactional(readOnly = true)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender s LEFT JOIN FETCH m.recipient r " +
+           "WHERE m.complaint.id = :complaintId AND (m.messageType = 'PUBLIC' OR r.id = :userId OR s.id = :userId) " +
+           "AND (:cursorCreatedAt IS NULL OR m.createdAt < :cursorCreatedAt " +
+           "     OR (m.createdAt = :cursorCreatedAt AND m.id < :cursorId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findForUserBefore(@Param("complaintId") Long complaintId,
+                                    @Param("userId") Long userId,
+                                    @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package org.example.springapp.repository;
 
+import org.example.springapp.dto.UserSummary;
 import org.example.springapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.List;
@@ -10,4 +13,10 @@ import java.util.List;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     List<User> findByRole(String role);
+
+    @Query("SELECT new org.example.springapp.dto.UserSummary(u.id, u.username, u.role) FROM User u WHERE u.role = :role")
+    List<UserSummary> findSummariesByRole(@Param("role") String role);
+
+    @Query("SELECT new org.example.springapp.dto.UserSummary(u.id, u.username, u.role) FROM User u")
+    List<UserSummary> findAllSummaries();
 }
\ No newline at end of file
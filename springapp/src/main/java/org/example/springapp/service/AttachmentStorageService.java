@@ -0,0 +1,273 @@
+package org.example.springapp.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.example.springapp.entity.AttachmentBlob;
+import org.example.springapp.repository.AttachmentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-addressed attachment store. Uploads are streamed through a SHA-256 digest
+ * into a temp file and kept once under {@code blobs/ab/cd/<sha256>}; identical uploads
+ * only bump the blob's reference count.
+ *
+ * <p>Attachments are referenced from complaints as {@code <sha256>_<original name>},
+ * mirroring the older {@code <uuid>_<original name>} entries that still live flat in
+ * the upload directory.
+ */
+@Service
+public class AttachmentStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentStorageService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int SHA256_HEX_LENGTH = 64;
+    private static final int MAX_REFERENCE_ATTEMPTS = 3;
+
+    @Autowired
+    private AttachmentBlobRepository attachmentBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${attachments.directory:uploads}")
+    private String directory;
+
+    private Path rootDir;
+    private Path blobDir;
+    private Path tempDir;
+    private TransactionTemplate transactionTemplate;
+    private Timer newBlobUploads;
+    private Timer existingBlobUploads;
+    private DistributionSummary uploadSize;
+
+    @PostConstruct
+    void init() throws IOException {
+        rootDir = Paths.get(directory).toAbsolutePath().normalize();
+        blobDir = rootDir.resolve("blobs");
+        tempDir = rootDir.resolve("tmp");
+        Files.createDirectories(blobDir);
+        Files.createDirectories(tempDir);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        newBlobUploads = uploadTimer("new");
+        existingBlobUploads = uploadTimer("existing");
+        uploadSize = DistributionSummary.builder("attachments.upload.size")
+                .description("Size of uploaded attachments")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer uploadTimer(String blob) {
+        return Timer.builder("attachments.upload")
+                .description("Time to hash and store an uploaded attachment")
+                .tag("blob", blob)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the upload and returns the reference to record on the complaint.
+     */
+    public String store(MultipartFile file) throws IOException {
+        long started = System.nanoTime();
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload", ".part");
+        long size = 0;
+        try {
+            try (InputStream input = file.getInputStream();
+                 ReadableByteChannel in = Channels.newChannel(input);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobPath(hash);
+            boolean existing = Files.exists(blob);
+            // Referenced first, so a concurrent release of the last reference has either
+            // kept the blob or finished deleting it by the time we check for the file below.
+            addReference(hash, size, file.getContentType());
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                try {
+                    Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same content placed it first.
+                }
+            }
+
+            (existing ? existingBlobUploads : newBlobUploads).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            uploadSize.record(size);
+            return hash + "_" + sanitizeFileName(file.getOriginalFilename());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Drops one reference to the attachment and deletes the blob once nothing uses it.
+     * The file is deleted while the row's lock is still held, so an upload of the same
+     * content waits for it and then puts the file back.
+     */
+    public void release(String reference) throws IOException {
+        String hash = blobHash(reference);
+        if (hash == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                attachmentBlobRepository.decrementRefCount(hash);
+                if (attachmentBlobRepository.deleteIfUnreferenced(hash) > 0) {
+                    try {
+                        Files.deleteIfExists(blobPath(hash));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Releases references stored for a complaint that was never saved. Failures are only
+     * logged: the caller is already reporting an error of its own.
+     */
+    public void releaseAll(List<String> references) {
+        for (String reference : references) {
+            try {
+                release(reference);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not release attachment {}", reference, e);
+            }
+        }
+    }
+
+    /**
+     * Resolves an attachment reference to its file, covering both content-addressed
+     * blobs and legacy flat uploads. Returns null for references outside the store.
+     */
+    public Path resolve(String reference) {
+        String hash = blobHash(reference);
+        if (hash != null) {
+            return blobPath(hash);
+        }
+        Path legacy = rootDir.resolve(reference).normalize();
+        return legacy.getParent() != null && legacy.getParent().equals(rootDir) ? legacy : null;
+    }
+
+    /**
+     * Returns the SHA-256 of a content-addressed reference, or null for legacy ones.
+     */
+    public static String blobHash(String reference) {
+        if (reference == null || reference.length() <= SHA256_HEX_LENGTH || reference.charAt(SHA256_HEX_LENGTH) != '_') {
+            return null;
+        }
+        String hash = reference.substring(0, SHA256_HEX_LENGTH);
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return null;
+            }
+        }
+        return hash;
+    }
+
+    private void addReference(String hash, long size, String contentType) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> incrementOrCreate(hash, size, contentType));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent upload of the same content created the row first.
+                transactionTemplate.executeWithoutResult(status -> attachmentBlobRepository.incrementRefCount(hash));
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                // The update of a missing row takes an InnoDB gap lock, so concurrent uploads of
+                // new content with neighbouring hashes can deadlock on the insert. The victim's
+                // transaction was rolled back and is safe to run again.
+                if (attempt == MAX_REFERENCE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void incrementOrCreate(String hash, long size, String contentType) {
+        if (attachmentBlobRepository.incrementRefCount(hash) == 0) {
+            AttachmentBlob blob = new AttachmentBlob();
+            blob.setSha256(hash);
+            blob.setSize(size);
+            blob.setContentType(contentType);
+            blob.setRefCount(1);
+            attachmentBlobRepository.saveAndFlush(blob);
+        }
+    }
+
+    private Path blobPath(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static String sanitizeFileName(String originalName) {
+        if (originalName == null) {
+            return "attachment";
+        }
+        // Browsers may send a full client path; keep its last segment, in either separator.
+        String name = originalName.substring(Math.max(originalName.lastIndexOf('/'), originalName.lastIndexOf('\\')) + 1);
+        if (name.isBlank() || name.equals(".") || name.equals("..")) {
+            return "attachment";
+        }
+        // Commas separate references in Complaint.attachmentPath.
+        return name.replaceAll("[,\\p{Cntrl}]", "_");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
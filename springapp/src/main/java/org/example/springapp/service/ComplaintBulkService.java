@@ -0,0 +1,66 @@
+package org.example.springapp.service;
+
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.entity.User;
+import org.example.springapp.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Assigns or re-statuses many complaints with one set-based UPDATE. The affected rows
+ * are read and locked first, in the same transaction, so the returned previous states
+ * are exactly what the update replaced.
+ */
+@Service
+public class ComplaintBulkService {
+
+    /**
+     * @param updated  previous state of every complaint that was changed
+     * @param rejected complaints whose status does not allow the change; missing ids are in neither list
+     */
+    public record Result(List<ComplaintState> updated, List<Long> rejected) {
+    }
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    /**
+     * Assigns the complaints to the officer and moves them to IN PROGRESS.
+     */
+    @Transactional
+    public Result assign(Collection<Long> complaintIds, User officer) {
+        Result result = partition(complaintRepository.findStatesForUpdate(complaintIds), ComplaintStatus.IN_PROGRESS);
+        if (!result.updated().isEmpty()) {
+            complaintRepository.assignAll(result.updated().stream().map(ComplaintState::id).toList(), officer);
+        }
+        return result;
+    }
+
+    @Transactional
+    public Result updateStatus(Collection<Long> complaintIds, ComplaintStatus status) {
+        Result result = partition(complaintRepository.findStatesForUpdate(complaintIds), status);
+        if (!result.updated().isEmpty()) {
+            complaintRepository.updateStatusAll(result.updated().stream().map(ComplaintState::id).toList(), status.label());
+        }
+        return result;
+    }
+
+    private static Result partition(List<ComplaintState> states, ComplaintStatus target) {
+        List<ComplaintState> allowed = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        for (ComplaintState state : states) {
+            if (ComplaintTransitionService.canMove(state, target)) {
+                allowed.add(state);
+            } else {
+                rejected.add(state.id());
+            }
+        }
+        return new Result(allowed, rejected);
+    }
+}
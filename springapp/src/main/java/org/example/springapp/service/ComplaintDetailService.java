@@ -0,0 +1,146 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.dto.ComplaintDetail;
+import org.example.springapp.dto.ComplaintView;
+import org.example.springapp.dto.MessageView;
+import org.example.springapp.dto.UserSummary;
+import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.repository.MessageRepository;
+import org.example.springapp.util.KeysetCursor;
+import org.example.springapp.util.ReadYourWrites;
+import org.example.springapp.util.StatementCounter;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the parts of a complaint detail page concurrently, so the page costs one round
+ * trip and its latency is that of the slowest part rather than the sum of all of them.
+ * Every part must finish within the part timeout, counted from when the request fans out;
+ * parts that miss it are cancelled and reported as unavailable instead of failing the page.
+ */
+@Service
+public class ComplaintDetailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintDetailService.class);
+
+    public static final String COMPLAINT = "complaint";
+    public static final String PRIVATE_MESSAGES = "privateMessages";
+    public static final String PUBLIC_MESSAGES = "publicMessages";
+    public static final String OFFICERS = "officers";
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Value("${complaint-detail.threads:8}")
+    private int threads;
+
+    @Value("${complaint-detail.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${complaint-detail.part-timeout:PT2S}")
+    private Duration partTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        // When the pool is saturated the request thread loads the part itself, so a burst
+        // degrades to sequential loading instead of failing. The pool also caps how many
+        // pooled connections detail pages can hold at once.
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.factory("complaint-detail-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param includeOfficers whether to load the officers the complaint can be assigned to
+     * @return the detail, with a null complaint if it does not exist
+     */
+    public ComplaintDetail load(Long complaintId, boolean includeOfficers) {
+        long deadline = System.nanoTime() + partTimeout.toNanos();
+        Future<ComplaintView> complaint = submit(() ->
+                complaintRepository.findDetailedById(complaintId).map(ComplaintView::of).orElse(null));
+        Future<List<MessageView>> privateMessages = submit(() ->
+                messageRepository.findPrivateMessagesByComplaintId(complaintId).stream().map(MessageView::of).toList());
+        Future<List<MessageView>> publicMessages = submit(() ->
+                messageRepository.findPublicMessagesByComplaintId(complaintId).stream().map(MessageView::of).toList());
+        Future<List<UserSummary>> officers = includeOfficers
+                ? submit(() -> userLookupService.getOfficers())
+                : null;
+
+        List<String> unavailable = new ArrayList<>();
+        ComplaintView complaintView = await(complaint, COMPLAINT, complaintId, deadline, unavailable);
+        List<MessageView> privateViews = await(privateMessages, PRIVATE_MESSAGES, complaintId, deadline, unavailable);
+        List<MessageView> publicViews = await(publicMessages, PUBLIC_MESSAGES, complaintId, deadline, unavailable);
+        List<UserSummary> officerViews = officers != null
+                ? await(officers, OFFICERS, complaintId, deadline, unavailable)
+                : null;
+        return new ComplaintDetail(complaintView, privateViews, cursorOf(privateViews),
+                publicViews, cursorOf(publicViews), officerViews, unavailable);
+    }
+
+    /** Runs a part on the pool with the request's statement count and read-your-writes pin. */
+    private <T> Future<T> submit(Callable<T> part) {
+        return executor.submit(ReadYourWrites.propagate(StatementCounter.propagate(part)));
+    }
+
+    private <T> T await(Future<T> part, String name, Long complaintId, long deadline, List<String> unavailable) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            part.cancel(true);
+            log.warn("Loading {} for complaint {} timed out after {}", name, complaintId, partTimeout);
+        } catch (ExecutionException e) {
+            log.warn("Loading {} for complaint {} failed", name, complaintId, e.getCause());
+        } catch (InterruptedException e) {
+            part.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(name);
+        return null;
+    }
+
+    private static String cursorOf(List<MessageView> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return null;
+        }
+        // The thread queries order by createdAt only, so pick the newest by the full cursor key.
+        MessageView newest = messages.stream()
+                .max(Comparator.comparing(MessageView::createdAt).thenComparing(MessageView::id))
+                .orElseThrow();
+        return new KeysetCursor(newest.createdAt(), newest.id()).encode();
+    }
+}
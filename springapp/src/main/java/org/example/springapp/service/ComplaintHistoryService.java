@@ -0,0 +1,245 @@
+package org.example.springapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.dto.ComplaintHistoryView;
+import org.example.springapp.dto.ComplaintTimeline;
+import org.example.springapp.entity.ComplaintHistory;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.example.springapp.event.MessagePostedEvent;
+import org.example.springapp.repository.ComplaintHistoryRepository;
+import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.util.RingBuffer;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every complaint change event and posted message in the complaint's history.
+ * Listeners run on the request thread, so they only append the entry to a lock-free ring
+ * buffer; a single writer thread drains it every flush interval and inserts the entries
+ * in batches. When the buffer is full, for example while the database is unreachable,
+ * new entries are dropped and counted rather than slowing requests down. An entry the
+ * database refuses outright is dropped on its own so it cannot hold up the others.
+ */
+@Service
+public class ComplaintHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintHistoryService.class);
+
+    public static final String MESSAGE_POSTED = "MESSAGE_POSTED";
+
+    private static final String INSERT = "INSERT INTO complaint_history (complaint_id, event_type, actor, " +
+            "previous_status, status, previous_assignee_id, assignee_id, message_id, message_type, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ComplaintHistoryRepository historyRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${history.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${history.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private RingBuffer<ComplaintHistory> buffer;
+    private ScheduledExecutorService writer;
+    private Counter written;
+    private Counter dropped;
+    private Counter rejected;
+    private Timer batchWrites;
+    private TransactionTemplate transactionTemplate;
+
+    // Writer thread only: the entries of the current batch not yet written or rejected,
+    // kept across flushes while the database is unavailable.
+    private final List<ComplaintHistory> batch = new ArrayList<>();
+    private double reportedDrops;
+
+    @PostConstruct
+    void start() {
+        buffer = new RingBuffer<>(bufferSize);
+        written = Counter.builder("complaint.history.written")
+                .description("History entries inserted")
+                .register(meterRegistry);
+        dropped = Counter.builder("complaint.history.dropped")
+                .description("History entries discarded because the buffer was full")
+                .register(meterRegistry);
+        rejected = Counter.builder("complaint.history.rejected")
+                .description("History entries discarded because the database refused to store them")
+                .register(meterRegistry);
+        batchWrites = Timer.builder("complaint.history.batch")
+                .description("Time to insert one batch of history entries")
+                .register(meterRegistry);
+        Gauge.builder("complaint.history.buffered", buffer, RingBuffer::size)
+                .description("History entries waiting to be written")
+                .register(meterRegistry);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        writer = Executors.newSingleThreadScheduledExecutor(WorkerThreads.factory("complaint-history-", virtualThreads));
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the writer and writes what is still buffered, while the data source is still up. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        writer.shutdown();
+        if (writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            flush();
+        } else {
+            log.warn("Complaint history writer did not stop; {} buffered entries are lost", buffer.size());
+        }
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintHistory entry = new ComplaintHistory();
+        entry.setComplaintId(event.getComplaintId());
+        entry.setEventType(event.getType().name());
+        entry.setActor(event.getActor());
+        entry.setPreviousStatus(event.getPreviousStatus());
+        entry.setStatus(event.getStatus());
+        entry.setPreviousAssigneeId(event.getPreviousAssigneeId());
+        entry.setAssigneeId(event.getAssigneeId());
+        entry.setOccurredAt(event.getOccurredAt());
+        append(entry);
+    }
+
+    @EventListener
+    public void onMessagePosted(MessagePostedEvent event) {
+        ComplaintHistory entry = new ComplaintHistory();
+        entry.setComplaintId(event.getComplaintId());
+        entry.setEventType(MESSAGE_POSTED);
+        entry.setActor(event.getActor());
+        entry.setMessageId(event.getMessageId());
+        entry.setMessageType(event.getMessageType());
+        entry.setOccurredAt(event.getOccurredAt());
+        append(entry);
+    }
+
+    /**
+     * The complaint's history with its time to assignment and to resolution, or empty if
+     * the complaint does not exist. Entries appear once the writer has flushed them, within
+     * about one flush interval.
+     */
+    public Optional<ComplaintTimeline> timeline(Long complaintId) {
+        return complaintRepository.findCreatedAtById(complaintId).map(createdAt -> ComplaintTimeline.of(
+                complaintId, createdAt,
+                historyRepository.findTimeline(complaintId).stream().map(ComplaintHistoryView::of).toList()));
+    }
+
+    private void append(ComplaintHistory entry) {
+        if (!buffer.offer(entry)) {
+            // Logged by the writer, so a full buffer costs the request nothing but the count.
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Drains the buffer in batches until it is empty. When the database is unavailable the
+     * rest of the batch is kept and retried at the next flush, while the buffer keeps filling.
+     */
+    void flush() {
+        try {
+            while (true) {
+                if (batch.isEmpty() && buffer.drainTo(batch::add, batchSize) == 0) {
+                    break;
+                }
+                write(batch);
+            }
+        } catch (RuntimeException e) {
+            // Must not escape: the scheduler would stop running the writer.
+            log.warn("Writing {} complaint history entries failed, retrying in {} ms: {}",
+                    batch.size(), flushIntervalMs, e.getMessage());
+        }
+        double drops = dropped.count();
+        if (drops > reportedDrops) {
+            log.warn("Complaint history buffer was full; {} entries dropped", (long) (drops - reportedDrops));
+            reportedDrops = drops;
+        }
+    }
+
+    /**
+     * Inserts the entries in one transaction and removes them from the batch they are a
+     * view of. If the database refuses them, halves are written separately until the
+     * entries it refuses are isolated and dropped; a transient failure is rethrown with the
+     * entries not yet written still in the batch.
+     */
+    private void write(List<ComplaintHistory> entries) {
+        try {
+            batchWrites.record(() -> transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+                        ps.setLong(1, entry.getComplaintId());
+                        ps.setString(2, entry.getEventType());
+                        ps.setString(3, entry.getActor());
+                        ps.setString(4, entry.getPreviousStatus());
+                        ps.setString(5, entry.getStatus());
+                        ps.setObject(6, entry.getPreviousAssigneeId());
+                        ps.setObject(7, entry.getAssigneeId());
+                        ps.setObject(8, entry.getMessageId());
+                        ps.setString(9, entry.getMessageType());
+                        ps.setObject(10, entry.getOccurredAt());
+                    })));
+            written.increment(entries.size());
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            if (entries.size() > 1) {
+                // Writing the first half removes it, leaving the second half in entries.
+                write(entries.subList(0, entries.size() / 2));
+                write(entries);
+                return;
+            }
+            rejected.increment();
+            log.error("Dropping complaint history entry the database refused: {}: {}", entries.get(0), e.getMessage());
+        }
+        entries.clear();
+    }
+
+    /** Whether the failure is the database's state rather than the entries, so writing them again may succeed. */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+}
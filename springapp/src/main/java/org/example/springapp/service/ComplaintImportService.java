@@ -0,0 +1,533 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.dto.UserSummary;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.entity.IdSequences;
+import org.example.springapp.entity.ImportJob;
+import org.example.springapp.repository.ImportJobRepository;
+import org.example.springapp.repository.UserRepository;
+import org.example.springapp.util.CsvReader;
+import org.example.springapp.util.ReadYourWrites;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports legacy complaints and their messages from CSV. The file is stored on disk,
+ * then read as a stream and written in chunks: each chunk is a single transaction of
+ * batched inserts that also advances the job's checkpoint, so an interrupted or failed
+ * import can be resumed without duplicating or losing rows. Imports run one at a time.
+ *
+ * <p>The layout is the report export ({@link ReportService#CSV_HEADER}) with optional
+ * extra columns: {@code Description}, and {@code Message Type}, {@code Message Date},
+ * {@code Message From}, {@code Message To} and {@code Message} for one message per
+ * line. Consecutive lines with the same Complaint ID belong to one complaint; its
+ * columns are taken from the first of them. Imported complaints get new ids.
+ */
+@Service
+public class ComplaintImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintImportService.class);
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, INTERRUPTED }
+
+    private static final String[] REPORT_COLUMNS = ReportService.CSV_HEADER.split(",");
+    private static final DateTimeFormatter REPORT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final String INSERT_COMPLAINT =
+            "INSERT INTO complaints (id, subject, description, submission_type, created_at, status, priority, " +
+            "category, user_id, assigned_to) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO messages (id, content, message_type, created_at, complaint_id, sender_id, recipient_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SAVE_CHECKPOINT =
+            "UPDATE import_jobs SET records_committed = ?, complaints_imported = ?, messages_imported = ?, " +
+            "records_rejected = ?, last_rejection = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ComplaintStatsService complaintStatsService;
+
+    @Autowired
+    private EscalationService escalationService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Value("${imports.directory:imports}")
+    private String directory;
+
+    @Value("${imports.chunk-records:5000}")
+    private int chunkRecords;
+
+    @Value("${imports.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private Path importDir;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate idTransactionTemplate;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        importDir = Paths.get(directory);
+        Files.createDirectories(importDir);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Id blocks are reserved in their own short transaction so the sequence row is
+        // not locked against regular submissions while a chunk is being written.
+        idTransactionTemplate = new TransactionTemplate(transactionManager);
+        idTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.factory("import-", virtualThreads));
+
+        // Imports that were queued or running when the application stopped can be resumed.
+        int interrupted = transactionTemplate.execute(status -> importJobRepository.updateStatus(
+                List.of(Status.QUEUED.name(), Status.RUNNING.name()), Status.INTERRUPTED.name()));
+        if (interrupted > 0) {
+            log.info("{} CSV import(s) were interrupted by a restart and can be resumed", interrupted);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Stores the CSV and queues its import.
+     *
+     * @throws RejectedExecutionException when the import queue is full; the job is left
+     *                                    INTERRUPTED and can be resumed later
+     */
+    public ImportJob submit(InputStream csv, String fileName) throws IOException {
+        ImportJob job = new ImportJob();
+        job.setFileName(fileName != null && !fileName.isBlank() ? fileName : "import.csv");
+        job.setStatus(Status.QUEUED.name());
+        job = importJobRepository.save(job);
+        try {
+            Files.copy(csv, file(job.getId()));
+        } catch (IOException e) {
+            Files.deleteIfExists(file(job.getId()));
+            finish(job, Status.FAILED, "Upload could not be stored");
+            throw e;
+        }
+        enqueue(job);
+        return job;
+    }
+
+    /**
+     * Continues an interrupted or failed import from its last committed chunk.
+     *
+     * @throws IllegalStateException when the job is not resumable
+     * @throws RejectedExecutionException when the import queue is full
+     */
+    public Optional<ImportJob> resume(Long id) {
+        Optional<ImportJob> found = importJobRepository.findById(id);
+        found.ifPresent(job -> {
+            Status status = Status.valueOf(job.getStatus());
+            if (status != Status.INTERRUPTED && status != Status.FAILED) {
+                throw new IllegalStateException("Import is " + status);
+            }
+            if (!Files.isRegularFile(file(id))) {
+                throw new IllegalStateException("Import file is no longer available");
+            }
+            job.setStatus(Status.QUEUED.name());
+            job.setError(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            enqueue(importJobRepository.save(job));
+        });
+        return found;
+    }
+
+    public Optional<ImportJob> getJob(Long id) {
+        return importJobRepository.findById(id);
+    }
+
+    private void enqueue(ImportJob job) {
+        try {
+            executor.execute(() -> run(job.getId()));
+        } catch (RejectedExecutionException e) {
+            finish(job, Status.INTERRUPTED, "Import queue was full");
+            throw e;
+        }
+    }
+
+    private void run(Long id) {
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(Status.RUNNING.name());
+        job.setUpdatedAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+        long complaintsBefore = job.getComplaintsImported();
+        long started = System.nanoTime();
+        Status outcome;
+        String error = null;
+        try {
+            importFile(job);
+            outcome = Status.DONE;
+        } catch (InterruptedException e) {
+            outcome = Status.INTERRUPTED;
+        } catch (Exception e) {
+            log.warn("CSV import {} failed after {} records", id, job.getRecordsCommitted(), e);
+            outcome = Status.FAILED;
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        finish(job, outcome, error);
+        log.info("CSV import {} {}: {} complaints, {} messages, {} records rejected in {} ms", id, outcome,
+                job.getComplaintsImported(), job.getMessagesImported(), job.getRecordsRejected(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        if (outcome == Status.DONE) {
+            try {
+                Files.deleteIfExists(file(id));
+            } catch (IOException e) {
+                log.warn("Could not delete imported file {}", file(id), e);
+            }
+        }
+        if (job.getComplaintsImported() > complaintsBefore) {
+            // Imported rows bypass the change events the counters, the escalation index and
+            // the report cache follow, and legacy rows land in the closed periods cached
+            // reports cover.
+            reportJobService.evictCachedReports();
+            // Read them back from the primary; a replica may not have them yet.
+            ReadYourWrites.pin();
+            try {
+                complaintStatsService.reconcile();
+                escalationService.rebuild();
+            } finally {
+                ReadYourWrites.unpin();
+            }
+        }
+    }
+
+    private void importFile(ImportJob job) throws IOException, InterruptedException {
+        Map<String, Long> userIds = new HashMap<>();
+        for (UserSummary user : userRepository.findAllSummaries()) {
+            userIds.put(user.username(), user.id());
+        }
+
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(file(job.getId()), StandardCharsets.UTF_8))) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Columns columns = new Columns(header);
+
+            for (long skipped = 0; skipped < job.getRecordsCommitted(); skipped++) {
+                if (csv.next() == null) {
+                    return;
+                }
+            }
+
+            Chunk chunk = new Chunk(columns, userIds);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                // A complaint and its messages always land in the same chunk, so the
+                // checkpoint never falls inside a complaint.
+                if (chunk.records >= chunkRecords && !columns.complaintKey(record).equals(chunk.lastKey)) {
+                    commit(job, chunk);
+                    chunk = new Chunk(columns, userIds);
+                }
+                chunk.add(record, csv.getRecordLine());
+            }
+            commit(job, chunk);
+        }
+    }
+
+    private void commit(ImportJob job, Chunk chunk) throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        if (chunk.records == 0) {
+            return;
+        }
+        long complaintId = reserveIds("complaints_seq", chunk.complaints.size());
+        for (Object[] complaint : chunk.complaints) {
+            complaint[0] = complaintId++;
+        }
+        long messageId = reserveIds("messages_seq", chunk.messages.size());
+        for (Object[] message : chunk.messages) {
+            message[0] = messageId++;
+            // The complaint's id was filled in above; the slot held its row until now.
+            message[4] = ((Object[]) message[4])[0];
+        }
+
+        long records = job.getRecordsCommitted() + chunk.records;
+        long complaints = job.getComplaintsImported() + chunk.complaints.size();
+        long messages = job.getMessagesImported() + chunk.messages.size();
+        long rejected = job.getRecordsRejected() + chunk.rejected;
+        String lastRejection = chunk.lastRejection != null ? chunk.lastRejection : job.getLastRejection();
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_COMPLAINT, chunk.complaints);
+            if (!chunk.messages.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MESSAGE, chunk.messages);
+            }
+            jdbcTemplate.update(SAVE_CHECKPOINT, records, complaints, messages, rejected, lastRejection,
+                    Timestamp.valueOf(now), job.getId());
+        });
+        job.setRecordsCommitted(records);
+        job.setComplaintsImported(complaints);
+        job.setMessagesImported(messages);
+        job.setRecordsRejected(rejected);
+        job.setLastRejection(lastRejection);
+        job.setUpdatedAt(now);
+    }
+
+    /**
+     * Takes {@code count} ids from a table-backed sequence, rounded up to whole
+     * allocation blocks so the values stay aligned with what Hibernate's pooled
+     * optimizer hands out, and returns the first one.
+     */
+    private long reserveIds(String sequence, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int blocks = (count + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+        return idTransactionTemplate.execute(status -> {
+            long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence + " FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?",
+                    nextVal + (long) blocks * IdSequences.ALLOCATION_SIZE);
+            // The pooled optimizer's next block would have ended at the stored value.
+            return nextVal - IdSequences.ALLOCATION_SIZE + 1;
+        });
+    }
+
+    private void finish(ImportJob job, Status status, String error) {
+        job.setStatus(status.name());
+        job.setError(error);
+        job.setUpdatedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    private Path file(Long id) {
+        return importDir.resolve(id + ".csv");
+    }
+
+    /** Column positions, looked up by header name. */
+    static final class Columns {
+        final int id;
+        final int subject;
+        final int category;
+        final int priority;
+        final int status;
+        final int submissionType;
+        final int createdAt;
+        final int submittedBy;
+        final int assignedTo;
+        final int description;
+        final int messageType;
+        final int messageDate;
+        final int messageFrom;
+        final int messageTo;
+        final int message;
+
+        Columns(List<String> header) {
+            List<String> names = header.stream().map(String::trim).toList();
+            List<String> missing = Arrays.stream(REPORT_COLUMNS).filter(c -> !names.contains(c)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Missing columns: " + String.join(", ", missing));
+            }
+            id = names.indexOf(REPORT_COLUMNS[0]);
+            subject = names.indexOf(REPORT_COLUMNS[1]);
+            category = names.indexOf(REPORT_COLUMNS[2]);
+            priority = names.indexOf(REPORT_COLUMNS[3]);
+            status = names.indexOf(REPORT_COLUMNS[4]);
+            submissionType = names.indexOf(REPORT_COLUMNS[5]);
+            createdAt = names.indexOf(REPORT_COLUMNS[6]);
+            submittedBy = names.indexOf(REPORT_COLUMNS[7]);
+            assignedTo = names.indexOf(REPORT_COLUMNS[8]);
+            description = names.indexOf("Description");
+            messageType = names.indexOf("Message Type");
+            messageDate = names.indexOf("Message Date");
+            messageFrom = names.indexOf("Message From");
+            messageTo = names.indexOf("Message To");
+            message = names.indexOf("Message");
+        }
+
+        String complaintKey(List<String> record) {
+            return get(record, id);
+        }
+
+        static String get(List<String> record, int column) {
+            return column >= 0 && column < record.size() ? record.get(column).trim() : "";
+        }
+    }
+
+    /** Rows parsed for one transaction. Ids are assigned when the chunk is committed. */
+    private static final class Chunk {
+        private final Columns columns;
+        private final Map<String, Long> userIds;
+        private final List<Object[]> complaints = new ArrayList<>();
+        private final List<Object[]> messages = new ArrayList<>();
+        private int records;
+        private int rejected;
+        private String lastRejection;
+        private String lastKey;
+        private Object[] lastComplaint;
+
+        Chunk(Columns columns, Map<String, Long> userIds) {
+            this.columns = columns;
+            this.userIds = userIds;
+        }
+
+        void add(List<String> record, long line) {
+            records++;
+            String key = columns.complaintKey(record);
+            try {
+                if (!key.equals(lastKey)) {
+                    lastKey = key;
+                    // Stays null when the complaint is rejected, so its messages are rejected too.
+                    lastComplaint = null;
+                    lastComplaint = complaint(record);
+                    complaints.add(lastComplaint);
+                } else if (lastComplaint == null) {
+                    throw new IllegalArgumentException("its complaint was rejected");
+                }
+                Object[] message = message(record, lastComplaint);
+                if (message != null) {
+                    messages.add(message);
+                }
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                lastRejection = "Line " + line + ": " + e.getMessage();
+            }
+        }
+
+        private Object[] complaint(List<String> record) {
+            String subject = Columns.get(record, columns.subject);
+            if (subject.isEmpty()) {
+                throw new IllegalArgumentException("Subject is empty");
+            }
+            Long userId = user(Columns.get(record, columns.submittedBy), "Anonymous");
+            Long assigneeId = user(Columns.get(record, columns.assignedTo), "Unassigned");
+            String submissionType = Columns.get(record, columns.submissionType);
+            if (submissionType.isEmpty()) {
+                submissionType = userId != null ? "Public" : "Anonymous";
+            }
+            return new Object[]{
+                    null,
+                    subject,
+                    blankToNull(Columns.get(record, columns.description)),
+                    submissionType,
+                    timestamp(Columns.get(record, columns.createdAt)),
+                    status(Columns.get(record, columns.status)),
+                    orDefault(Columns.get(record, columns.priority), "Medium"),
+                    orDefault(Columns.get(record, columns.category), "General"),
+                    userId,
+                    assigneeId
+            };
+        }
+
+        private Object[] message(List<String> record, Object[] complaint) {
+            String content = Columns.get(record, columns.message);
+            if (content.isEmpty()) {
+                return null;
+            }
+            Long senderId = user(Columns.get(record, columns.messageFrom), null);
+            if (senderId == null) {
+                throw new IllegalArgumentException("Message has no sender");
+            }
+            String date = Columns.get(record, columns.messageDate);
+            return new Object[]{
+                    null,
+                    content,
+                    orDefault(Columns.get(record, columns.messageType), "PUBLIC").toUpperCase(),
+                    date.isEmpty() ? complaint[4] : timestamp(date),
+                    complaint,
+                    senderId,
+                    user(Columns.get(record, columns.messageTo), null)
+            };
+        }
+
+        /**
+         * @param none the placeholder the report writes for a missing user
+         */
+        private Long user(String username, String none) {
+            if (username.isEmpty() || username.equals(none)) {
+                return null;
+            }
+            Long id = userIds.get(username);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown user " + username);
+            }
+            return id;
+        }
+
+        /** Accepts the report's dd-MM-yyyy dates as well as ISO dates and date-times. */
+        private static Timestamp timestamp(String value) {
+            try {
+                if (value.length() == 10 && value.charAt(2) == '-') {
+                    return Timestamp.valueOf(LocalDate.parse(value, REPORT_DATE_FORMAT).atStartOfDay());
+                }
+                if (value.length() == 10) {
+                    return Timestamp.valueOf(LocalDate.parse(value).atStartOfDay());
+                }
+                return Timestamp.valueOf(LocalDateTime.parse(value));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date " + value);
+            }
+        }
+
+        /** Legacy statuses are stored in their normalized form; unknown ones are rejected. */
+        private static String status(String value) {
+            return value.isEmpty() ? ComplaintStatus.NEW.label() : ComplaintStatus.parse(value).label();
+        }
+
+        private static String orDefault(String value, String fallback) {
+            return value.isEmpty() ? fallback : value;
+        }
+
+        private static String blankToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.springapp.service;
+
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.example.springapp.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory complaint counters per status and per assigned officer. Seeded from a
+ * single GROUP BY query, kept current from {@link ComplaintChangedEvent}s and
+ * periodically rebuilt from the database to correct any drift.
+ */
+@Service
+public class ComplaintStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatsService.class);
+
+    private static final String NEW = ComplaintStatus.NEW.label();
+    private static final String IN_PROGRESS = ComplaintStatus.IN_PROGRESS.label();
+    private static final String RESOLVED = ComplaintStatus.RESOLVED.label();
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    private volatile Counters counters = new Counters();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Rebuilds the counters from the database and swaps them in. Changes applied while
+     * the query runs may be counted twice or not at all until the next run.
+     */
+    @Scheduled(initialDelayString = "${stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counters fresh = new Counters();
+        for (Object[] row : complaintRepository.countGroupedByAssigneeAndStatus()) {
+            Long assigneeId = (Long) row[0];
+            String status = (String) row[1];
+            long count = (Long) row[2];
+            fresh.total.add(count);
+            fresh.status(status).add(count);
+            if (assigneeId != null) {
+                fresh.officerStatus(assigneeId, status).add(count);
+            }
+        }
+        counters = fresh;
+        log.debug("Complaint statistics reconciled: {} complaints", fresh.total.sum());
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Counters current = counters;
+        if (event.getType() == ComplaintChangedEvent.Type.SUBMITTED) {
+            current.total.increment();
+        } else {
+            current.status(event.getPreviousStatus()).decrement();
+            if (event.getPreviousAssigneeId() != null) {
+                current.officerStatus(event.getPreviousAssigneeId(), event.getPreviousStatus()).decrement();
+            }
+        }
+        current.status(event.getStatus()).increment();
+        if (event.getAssigneeId() != null) {
+            current.officerStatus(event.getAssigneeId(), event.getStatus()).increment();
+        }
+    }
+
+    public Map<String, Long> getComplaintStats() {
+        Counters current = counters;
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("total", current.total.sum());
+        stats.put("new", current.status(NEW).sum());
+        stats.put("assigned", current.status(IN_PROGRESS).sum());
+        stats.put("resolved", current.status(RESOLVED).sum());
+        return stats;
+    }
+
+    public Map<String, Integer> getOfficerStats(Long officerId) {
+        Map<String, LongAdder> officer = counters.byOfficer.get(officerId);
+        if (officer == null) {
+            officer = Map.of();
+        }
+        long assigned = 0;
+        for (LongAdder adder : officer.values()) {
+            assigned += adder.sum();
+        }
+        LongAdder inProgress = officer.get(IN_PROGRESS);
+        LongAdder resolved = officer.get(RESOLVED);
+
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("assigned", (int) assigned);
+        stats.put("inProgress", inProgress != null ? (int) inProgress.sum() : 0);
+        stats.put("resolved", resolved != null ? (int) resolved.sum() : 0);
+        return stats;
+    }
+
+    private static String key(String status) {
+        return status != null ? status.toUpperCase(Locale.ROOT) : "";
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, ConcurrentHashMap<String, LongAdder>> byOfficer = new ConcurrentHashMap<>();
+
+        LongAdder status(String status) {
+            return byStatus.computeIfAbsent(key(status), k -> new LongAdder());
+        }
+
+        LongAdder officerStatus(Long officerId, String status) {
+            return byOfficer.computeIfAbsent(officerId, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key(status), k -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.springapp.service;
+
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.entity.User;
+import org.example.springapp.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Status changes and assignments of single complaints. Each change is one conditional
+ * UPDATE on the status and version that were read, so of two concurrent changes only
+ * the first applies and the second fails instead of silently overwriting it.
+ */
+@Service
+public class ComplaintTransitionService {
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    /**
+     * @param expectedVersion the version the caller last saw, or null to act on the current one
+     * @return the state before the change, or empty if the complaint does not exist
+     * @throws IllegalStateException when the current status cannot move to {@code target}
+     * @throws ObjectOptimisticLockingFailureException when the complaint changed since
+     *         {@code expectedVersion}, or concurrently with this call
+     */
+    @Transactional
+    public Optional<ComplaintState> changeStatus(Long id, ComplaintStatus target, Long expectedVersion) {
+        Optional<ComplaintState> found = complaintRepository.findState(id);
+        found.ifPresent(state -> {
+            check(state, target, expectedVersion);
+            if (complaintRepository.updateStatusIf(id, state.status(), state.version(), target.label()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Complaint.class, id);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Assigns the complaint to the officer and moves it to IN PROGRESS, under the same
+     * rules as {@link #changeStatus}.
+     */
+    @Transactional
+    public Optional<ComplaintState> assign(Long id, User officer, Long expectedVersion) {
+        Optional<ComplaintState> found = complaintRepository.findState(id);
+        found.ifPresent(state -> {
+            check(state, ComplaintStatus.IN_PROGRESS, expectedVersion);
+            if (complaintRepository.assignIf(id, state.status(), state.version(), officer) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Complaint.class, id);
+            }
+        });
+        return found;
+    }
+
+    private static void check(ComplaintState state, ComplaintStatus target, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != state.version()) {
+            throw new ObjectOptimisticLockingFailureException(Complaint.class, state.id());
+        }
+        if (!canMove(state, target)) {
+            throw new IllegalStateException("Cannot move a " + state.status() + " complaint to " + target.label());
+        }
+    }
+
+    /** Whether the complaint may move to {@code target}; statuses outside the lifecycle may not. */
+    static boolean canMove(ComplaintState state, ComplaintStatus target) {
+        try {
+            return ComplaintStatus.parse(state.status()).canMoveTo(target);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
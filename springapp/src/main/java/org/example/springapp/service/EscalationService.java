@@ -0,0 +1,232 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.dto.EscalationCandidate;
+import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.example.springapp.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalates in-progress complaints that outlive their SLA. Each in-progress complaint
+ * has one deadline in a {@link DelayQueue}, so a single timer thread sleeps until the
+ * next one is due instead of the database being scanned on every dashboard poll.
+ *
+ * <p>The queue is rebuilt from the database at startup and kept current from
+ * {@link ComplaintChangedEvent}s, including edits of the priority or category. A
+ * deadline counts from when the complaint was submitted. The SLA is the tighter of the
+ * matching priority and category entries, or the default when neither matches.
+ */
+@Service
+public class EscalationService {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalationService.class);
+
+    private static final String IN_PROGRESS = ComplaintStatus.IN_PROGRESS.label();
+    private static final long RETRY_DELAY_MS = 60_000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${escalation.default-sla:P2D}")
+    private Duration defaultSla;
+
+    @Value("${escalation.priority-sla:}")
+    private String prioritySlaSpec;
+
+    @Value("${escalation.category-sla:}")
+    private String categorySlaSpec;
+
+    private final DelayQueue<Deadline> deadlines = new DelayQueue<>();
+    // The live deadline per complaint; queue entries no longer referenced here are skipped when they fire.
+    private final Map<Long, Deadline> scheduled = new ConcurrentHashMap<>();
+    private final Set<Long> escalated = ConcurrentHashMap.newKeySet();
+
+    private Map<String, Duration> prioritySla;
+    private Map<String, Duration> categorySla;
+    private TransactionTemplate transactionTemplate;
+    private Thread timer;
+
+    @PostConstruct
+    void start() {
+        prioritySla = parseSla(prioritySlaSpec);
+        categorySla = parseSla(categorySlaSpec);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        timer = new Thread(this::runTimer, "escalation-timer");
+        timer.setDaemon(true);
+        timer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.interrupt();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<EscalationCandidate> candidates = complaintRepository.findEscalationCandidates();
+        for (EscalationCandidate candidate : candidates) {
+            schedule(candidate);
+        }
+        log.info("Escalation index rebuilt: {} in progress, {} escalated", candidates.size(), escalated.size());
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Long id = event.getComplaintId();
+        if (!IN_PROGRESS.equalsIgnoreCase(event.getStatus())) {
+            scheduled.remove(id);
+            escalated.remove(id);
+        } else if (event.getType() == ComplaintChangedEvent.Type.UPDATED && !escalated.contains(id)) {
+            // A new priority or category can change the SLA; the replaced deadline is skipped when it fires.
+            complaintRepository.findEscalationCandidate(id).ifPresent(this::schedule);
+        } else if (!scheduled.containsKey(id) && !escalated.contains(id)) {
+            complaintRepository.findEscalationCandidate(id).ifPresent(this::schedule);
+        }
+    }
+
+    /**
+     * Escalated complaints, oldest first. Complaints that left IN PROGRESS since they
+     * were indexed are dropped on the way out.
+     */
+    public List<Complaint> getEscalatedComplaints() {
+        if (escalated.isEmpty()) {
+            return List.of();
+        }
+        List<Complaint> complaints = new ArrayList<>();
+        for (Complaint complaint : complaintRepository.findAllById(new ArrayList<>(escalated))) {
+            if (IN_PROGRESS.equalsIgnoreCase(complaint.getStatus())) {
+                complaints.add(complaint);
+            } else {
+                escalated.remove(complaint.getId());
+            }
+        }
+        // Sorted here rather than in SQL: the set is small and the IN lookup stays on the primary key.
+        complaints.sort(Comparator.comparing(Complaint::getCreatedAt).thenComparing(Complaint::getId));
+        return complaints;
+    }
+
+    Duration slaFor(String priority, String category) {
+        Duration byPriority = priority != null ? prioritySla.get(priority.toLowerCase(Locale.ROOT)) : null;
+        Duration byCategory = category != null ? categorySla.get(category.toLowerCase(Locale.ROOT)) : null;
+        if (byPriority == null && byCategory == null) {
+            return defaultSla;
+        }
+        if (byPriority == null || byCategory == null) {
+            return byPriority != null ? byPriority : byCategory;
+        }
+        return byPriority.compareTo(byCategory) <= 0 ? byPriority : byCategory;
+    }
+
+    private void schedule(EscalationCandidate candidate) {
+        if (candidate.escalatedAt() != null) {
+            scheduled.remove(candidate.id());
+            escalated.add(candidate.id());
+            return;
+        }
+        LocalDateTime due = candidate.createdAt().plus(slaFor(candidate.priority(), candidate.category()));
+        Deadline deadline = new Deadline(candidate.id(), due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        scheduled.put(candidate.id(), deadline);
+        deadlines.add(deadline);
+    }
+
+    private void runTimer() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Deadline due;
+            try {
+                due = deadlines.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!scheduled.remove(due.complaintId, due)) {
+                continue;
+            }
+            try {
+                escalate(due.complaintId);
+            } catch (RuntimeException e) {
+                log.warn("Escalating complaint {} failed, retrying in {} ms", due.complaintId, RETRY_DELAY_MS, e);
+                Deadline retry = new Deadline(due.complaintId, System.currentTimeMillis() + RETRY_DELAY_MS);
+                if (scheduled.putIfAbsent(due.complaintId, retry) == null) {
+                    deadlines.add(retry);
+                }
+            }
+        }
+    }
+
+    private void escalate(Long complaintId) {
+        Integer updated = transactionTemplate.execute(status ->
+                complaintRepository.markEscalated(complaintId, LocalDateTime.now()));
+        if (updated != null && updated > 0) {
+            escalated.add(complaintId);
+            log.info("Complaint {} escalated after exceeding its SLA", complaintId);
+        }
+    }
+
+    /**
+     * Parses {@code key=ISO-8601 duration} pairs separated by commas, e.g.
+     * {@code High=P1D,Low=P5D}. Keys are matched case-insensitively.
+     */
+    static Map<String, Duration> parseSla(String spec) {
+        Map<String, Duration> sla = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return sla;
+        }
+        for (String entry : spec.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid SLA entry: " + entry);
+            }
+            sla.put(entry.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                    Duration.parse(entry.substring(separator + 1).trim()));
+        }
+        return sla;
+    }
+
+    private static final class Deadline implements Delayed {
+        private final Long complaintId;
+        private final long dueAtMillis;
+
+        private Deadline(Long complaintId, long dueAtMillis) {
+            this.complaintId = complaintId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Deadline) other).dueAtMillis);
+        }
+    }
+}
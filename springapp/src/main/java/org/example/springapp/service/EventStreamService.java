@@ -0,0 +1,272 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.dto.PushEvent;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.example.springapp.event.MessagePostedEvent;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes complaint and message notifications to Server-Sent Event subscribers.
+ *
+ * <p>Connections are async requests, so an idle subscriber holds no thread, only its
+ * emitter and a small bounded queue. Publishing just offers to the queues of the
+ * subscribers an event is scoped to. A few dispatcher threads drain queues that have
+ * work, one subscriber at a time. A subscriber whose queue overflows loses its
+ * buffered events and receives a single {@code resync} event telling it to refetch.
+ *
+ * <p>Scoping: admins receive every complaint change; officers receive changes to
+ * complaints assigned to or taken from them; anyone subscribed to a complaint id
+ * receives its changes and its messages, except that citizens only see private
+ * messages they sent or received.
+ */
+@Service
+public class EventStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamService.class);
+
+    public static final String ROLE_ADMIN = "admin";
+    public static final String ROLE_OFFICER = "officer";
+    private static final String COMPLAINT_EVENT = "complaint";
+    private static final String MESSAGE_EVENT = "message";
+    private static final String RESYNC_EVENT = "resync";
+
+    @Value("${events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${events.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${events.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> admins = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byOfficer = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byComplaint = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor dispatcher;
+
+    @PostConstruct
+    void start() {
+        // Unbounded on purpose: a subscriber has at most one drain task queued at a time,
+        // so the queue never holds more tasks than there are connections.
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                WorkerThreads.factory("event-dispatch-", virtualThreads));
+    }
+
+    @PreDestroy
+    void stop() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for the given user.
+     *
+     * @param role         the caller's role in lower case
+     * @param complaintIds complaints whose changes and messages the caller wants
+     */
+    public SseEmitter subscribe(String role, Long userId, Collection<Long> complaintIds) throws IOException {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, role, userId, List.copyOf(complaintIds),
+                new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+        register(subscriber);
+        emitter.send(SseEmitter.event().comment("connected").reconnectTime(5000));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        PushEvent push = new PushEvent(event.getType().name(), event.getComplaintId(), event.getStatus(),
+                event.getAssigneeId(), null, null, event.getOccurredAt());
+        Set<Subscriber> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(admins);
+        addAll(targets, byOfficer, event.getAssigneeId());
+        addAll(targets, byOfficer, event.getPreviousAssigneeId());
+        addAll(targets, byComplaint, event.getComplaintId());
+        for (Subscriber subscriber : targets) {
+            offer(subscriber, new Outgoing(COMPLAINT_EVENT, push));
+        }
+    }
+
+    @EventListener
+    public void onMessagePosted(MessagePostedEvent event) {
+        PushEvent push = new PushEvent("MESSAGE", event.getComplaintId(), null, null,
+                event.getMessageId(), event.getMessageType(), event.getOccurredAt());
+        boolean isPublic = "PUBLIC".equals(event.getMessageType());
+        Set<Subscriber> targets = byComplaint.getOrDefault(event.getComplaintId(), Set.of());
+        for (Subscriber subscriber : targets) {
+            boolean staff = ROLE_ADMIN.equals(subscriber.role) || ROLE_OFFICER.equals(subscriber.role);
+            boolean party = subscriber.userId.equals(event.getSenderId()) || subscriber.userId.equals(event.getRecipientId());
+            if (isPublic || staff || party) {
+                offer(subscriber, new Outgoing(MESSAGE_EVENT, push));
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     * Subscribers with events still queued are skipped; those events serve the same purpose.
+     */
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                offer(subscriber, Outgoing.HEARTBEAT);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Outgoing outgoing) {
+        if (!subscriber.queue.offer(outgoing)) {
+            // The client is not keeping up: drop what it has not read and make it refetch.
+            subscriber.queue.clear();
+            subscriber.overflowed = true;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.overflowed) {
+                subscriber.overflowed = false;
+                subscriber.queue.clear();
+                subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+            }
+            Outgoing outgoing;
+            while ((outgoing = subscriber.queue.poll()) != null) {
+                if (outgoing == Outgoing.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment(""));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(outgoing.name).data(outgoing.event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event subscriber: {}", e.getMessage());
+            unregister(subscriber);
+            subscriber.emitter.complete();
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscribers.contains(subscriber) && (!subscriber.queue.isEmpty() || subscriber.overflowed)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (ROLE_ADMIN.equals(subscriber.role)) {
+            admins.add(subscriber);
+        } else if (ROLE_OFFICER.equals(subscriber.role)) {
+            byOfficer.computeIfAbsent(subscriber.userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        for (Long complaintId : subscriber.complaintIds) {
+            byComplaint.computeIfAbsent(complaintId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        admins.remove(subscriber);
+        remove(byOfficer, subscriber.userId, subscriber);
+        for (Long complaintId : subscriber.complaintIds) {
+            remove(byComplaint, complaintId, subscriber);
+        }
+        subscriber.queue.clear();
+    }
+
+    private static void addAll(Set<Subscriber> targets, Map<Long, Set<Subscriber>> index, Long key) {
+        if (key != null) {
+            targets.addAll(index.getOrDefault(key, Set.of()));
+        }
+    }
+
+    private static void remove(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String role;
+        private final Long userId;
+        private final List<Long> complaintIds;
+        private final BlockingQueue<Outgoing> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(SseEmitter emitter, String role, Long userId, List<Long> complaintIds,
+                           BlockingQueue<Outgoing> queue) {
+            this.emitter = emitter;
+            this.role = role;
+            this.userId = userId;
+            this.complaintIds = complaintIds;
+            this.queue = queue;
+        }
+    }
+
+    private static final class Outgoing {
+        private static final Outgoing HEARTBEAT = new Outgoing(null, null);
+
+        private final String name;
+        private final PushEvent event;
+
+        private Outgoing(String name, PushEvent event) {
+            this.name = name;
+            this.event = event;
+        }
+    }
+}
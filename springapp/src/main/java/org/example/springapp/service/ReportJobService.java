@@ -0,0 +1,405 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Renders reports off the request thread on a small bounded pool and keeps the
+ * finished files on local disk. Reports for periods that have already closed are
+ * stored under their period and a hash of their parameters, and reused by later
+ * identical requests.
+ *
+ * <p>Rows show each complaint's current status and assignee, so a closed period still
+ * changes when one of its complaints does: every {@link ComplaintChangedEvent} drops the
+ * cached reports whose period contains that complaint's submission date.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    // Cached artifacts are named <start>_<end>_<cache key>.<format>.
+    private static final Pattern CACHED_ARTIFACT =
+            Pattern.compile("(\\d{4}-\\d{2}-\\d{2})_(\\d{4}-\\d{2}-\\d{2})_[0-9a-f]{64}\\.(csv|pdf)");
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${report.jobs.directory:reports}")
+    private String directory;
+
+    @Value("${report.jobs.threads:2}")
+    private int threads;
+
+    @Value("${report.jobs.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${report.cache.ttl:P7D}")
+    private Duration cacheTtl;
+
+    @Value("${report.cache.max-size-mb:1024}")
+    private long cacheMaxSizeMb;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> inFlightByKey = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> cacheHitsByKey = new ConcurrentHashMap<>();
+    // The period each cached artifact covers. Artifacts are published and evicted for
+    // changes under this object's lock, so the two cannot interleave.
+    private final Map<Path, Period> cachedPeriods = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a render that saw it change does not cache its result.
+    private long evictions;
+    private Path artifactDir;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        artifactDir = Paths.get(directory);
+        Files.createDirectories(artifactDir);
+        try (Stream<Path> files = Files.list(artifactDir)) {
+            files.forEach(file -> cachedPeriod(file).ifPresent(period -> cachedPeriods.put(file, period)));
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.factory("report-", virtualThreads));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a report. Returns a finished job straight away when a cached artifact
+     * exists, and the already running job when the same report is in progress.
+     *
+     * @param format {@code csv} or {@code pdf}, in any casing
+     * @throws IllegalArgumentException when the format is neither
+     * @throws RejectedExecutionException when the render queue is full
+     */
+    public ReportJob submit(LocalDate start, LocalDate end, List<String> categories, String format) {
+        String normalizedFormat = normalizeFormat(format);
+        String key = cacheKey(start, end, categories, normalizedFormat);
+        // Only periods that ended before today can no longer change.
+        boolean cacheable = end.isBefore(LocalDate.now());
+
+        if (cacheable) {
+            Path cached = artifactDir.resolve(start + "_" + end + "_" + key + "." + normalizedFormat);
+            if (cachedPeriods.containsKey(cached) && Files.isRegularFile(cached)) {
+                touch(cached);
+                // Requests for the same cached report share one job until it expires, so
+                // repeated hits do not each keep a job for the whole TTL.
+                ReportJob shared = cacheHitsByKey.get(key);
+                if (shared != null && jobs.containsKey(shared.id)) {
+                    return shared;
+                }
+                ReportJob job = new ReportJob(UUID.randomUUID().toString(), key, start, end, categories, normalizedFormat);
+                job.file = cached;
+                job.cacheHit = true;
+                job.status = Status.DONE;
+                job.finishedAt = Instant.now();
+                jobs.put(job.id, job);
+                cacheHitsByKey.put(key, job);
+                return job;
+            }
+            ReportJob running = inFlightByKey.get(key);
+            if (running != null) {
+                return running;
+            }
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), key, start, end, categories, normalizedFormat);
+        if (cacheable && inFlightByKey.putIfAbsent(key, job) != null) {
+            return inFlightByKey.get(key);
+        }
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> render(job, cacheable));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            inFlightByKey.remove(key, job);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<ReportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Drops every cached report, for changes that may touch any period, such as a
+     * legacy import.
+     */
+    public void evictCachedReports() {
+        evict(null);
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        // A new complaint falls on today, which no cached period covers.
+        if (event.getType() == ComplaintChangedEvent.Type.SUBMITTED
+                || (cachedPeriods.isEmpty() && inFlightByKey.isEmpty())) {
+            return;
+        }
+        complaintRepository.findCreatedAtById(event.getComplaintId())
+                .ifPresent(createdAt -> evict(createdAt.toLocalDate()));
+    }
+
+    /** Drops the cached reports whose period contains {@code day}, or all of them when null. */
+    private synchronized void evict(LocalDate day) {
+        evictions++;
+        cacheHitsByKey.values().removeIf(job -> day == null || new Period(job.startDate, job.endDate).contains(day));
+        for (Map.Entry<Path, Period> entry : cachedPeriods.entrySet()) {
+            if (day == null || entry.getValue().contains(day)) {
+                cachedPeriods.remove(entry.getKey());
+                try {
+                    Files.deleteIfExists(entry.getKey());
+                } catch (IOException e) {
+                    log.warn("Could not evict report artifact {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a rendered report into place. Cacheable reports are only cached when no
+     * eviction ran while they rendered, since they may show the state from before it.
+     */
+    private synchronized Path publish(ReportJob job, Path temp, boolean cacheable, long evictionsAtStart)
+            throws IOException {
+        boolean cache = cacheable && evictions == evictionsAtStart;
+        Path target = artifactDir.resolve(cache
+                ? job.startDate + "_" + job.endDate + "_" + job.cacheKey + "." + job.format
+                : job.id + "." + job.format);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (cache) {
+            cachedPeriods.put(target, new Period(job.startDate, job.endDate));
+        }
+        return target;
+    }
+
+    private void render(ReportJob job, boolean cacheable) {
+        job.status = Status.RUNNING;
+        long evictionsAtStart;
+        synchronized (this) {
+            evictionsAtStart = evictions;
+        }
+        Path temp = null;
+        try {
+            job.totalRows = reportService.countRows(job.startDate, job.endDate, job.categories);
+            temp = Files.createTempFile(artifactDir, job.id, ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                if ("csv".equals(job.format)) {
+                    reportService.writeCsv(job.startDate, job.endDate, job.categories, out, job.rowsWritten::set);
+                } else {
+                    reportService.writePdf(job.startDate, job.endDate, job.categories, out, job.rowsWritten::set);
+                }
+            }
+            job.file = publish(job, temp, cacheable, evictionsAtStart);
+            job.status = Status.DONE;
+        } catch (Exception e) {
+            log.warn("Report job {} failed", job.id, e);
+            job.error = "Report generation failed";
+            job.status = Status.FAILED;
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        } finally {
+            job.finishedAt = Instant.now();
+            if (cacheable) {
+                inFlightByKey.remove(job.cacheKey, job);
+            }
+        }
+    }
+
+    /**
+     * Drops artifacts and finished jobs older than the TTL, then removes the least
+     * recently used artifacts until the directory fits in the configured size.
+     */
+    @Scheduled(fixedDelayString = "${report.cache.cleanup-interval-ms:600000}")
+    public void evictArtifacts() {
+        Instant expiry = Instant.now().minus(cacheTtl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+        cacheHitsByKey.values().removeIf(job -> !jobs.containsKey(job.id));
+
+        List<Path> artifacts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(artifactDir)) {
+            files.filter(p -> !p.getFileName().toString().endsWith(".part")).forEach(artifacts::add);
+        } catch (IOException e) {
+            log.warn("Could not list report artifacts in {}", artifactDir, e);
+            return;
+        }
+        artifacts.sort(Comparator.comparing(ReportJobService::lastModified));
+
+        long maxBytes = cacheMaxSizeMb * 1024 * 1024;
+        long totalBytes = artifacts.stream().mapToLong(ReportJobService::size).sum();
+        for (Path artifact : artifacts) {
+            boolean expired = lastModified(artifact).toInstant().isBefore(expiry);
+            if (!expired && totalBytes <= maxBytes) {
+                break;
+            }
+            long size = size(artifact);
+            try {
+                cachedPeriods.remove(artifact);
+                Files.deleteIfExists(artifact);
+                totalBytes -= size;
+            } catch (IOException e) {
+                log.warn("Could not evict report artifact {}", artifact, e);
+            }
+        }
+    }
+
+    /**
+     * @return {@code csv} or {@code pdf}
+     * @throws IllegalArgumentException for any other format
+     */
+    public static String normalizeFormat(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return "csv";
+        }
+        if ("pdf".equalsIgnoreCase(format)) {
+            return "pdf";
+        }
+        throw new IllegalArgumentException("Unknown report format: " + format);
+    }
+
+    static String cacheKey(LocalDate start, LocalDate end, List<String> categories, String format) {
+        String canonical = start + "|" + end + "|" + String.join(",", new TreeSet<>(categories)) + "|" + format;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Optional<Period> cachedPeriod(Path file) {
+        Matcher matcher = CACHED_ARTIFACT.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new Period(LocalDate.parse(matcher.group(1)), LocalDate.parse(matcher.group(2))));
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Period(LocalDate start, LocalDate end) {
+        boolean contains(LocalDate day) {
+            return !day.isBefore(start) && !day.isAfter(end);
+        }
+    }
+
+    public static class ReportJob {
+        private final String id;
+        private final String cacheKey;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<String> categories;
+        private final String format;
+        private final Instant createdAt = Instant.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile Status status = Status.QUEUED;
+        private volatile long totalRows = -1;
+        private volatile boolean cacheHit;
+        private volatile Path file;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        ReportJob(String id, String cacheKey, LocalDate startDate, LocalDate endDate, List<String> categories, String format) {
+            this.id = id;
+            this.cacheKey = cacheKey;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.categories = List.copyOf(categories);
+            this.format = format;
+        }
+
+        public String getId() { return id; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public List<String> getCategories() { return categories; }
+        public String getFormat() { return format; }
+        public Instant getCreatedAt() { return createdAt; }
+        public Status getStatus() { return status; }
+        public long getRowsWritten() { return rowsWritten.get(); }
+        public long getTotalRows() { return totalRows; }
+        public boolean isCacheHit() { return cacheHit; }
+        public Path getFile() { return file; }
+        public String getError() { return error; }
+        public Instant getFinishedAt() { return finishedAt; }
+    }
+}
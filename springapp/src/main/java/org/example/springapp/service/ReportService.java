@@ -0,0 +1,336 @@
+package org.example.springapp.service;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPTableEvent;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.example.springapp.dto.ComplaintReportRow;
+import org.example.springapp.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders complaint reports straight onto an output stream. Rows are read through a
+ * database cursor, so memory use does not depend on the size of the date range.
+ */
+@Service
+public class ReportService {
+
+    public static final String CSV_HEADER =
+            "Complaint ID,Subject,Category,Priority,Status,Submission Type,Date Created,Submitted By,Assigned To";
+
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter PDF_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
+    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
+    private static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+    private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC);
+    private static final float[] PDF_COLUMN_WIDTHS = {1, 3, 1.5f, 1.5f, 1.5f, 2};
+    // Rows buffered in the PdfPTable before they are laid out and written to the output.
+    private static final int PDF_FLUSH_ROWS = 200;
+    private static final int PROGRESS_INTERVAL_ROWS = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer csvRenderTime;
+    private Timer pdfRenderTime;
+    private DistributionSummary csvRows;
+    private DistributionSummary pdfRows;
+
+    @PostConstruct
+    void registerMeters() {
+        csvRenderTime = renderTimer("csv");
+        pdfRenderTime = renderTimer("pdf");
+        csvRows = rowSummary("csv");
+        pdfRows = rowSummary("pdf");
+    }
+
+    /**
+     * Writes the CSV report for complaints created between {@code start} and {@code end}
+     * (both inclusive) and returns the number of data rows written.
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(LocalDate start, LocalDate end, List<String> categories, OutputStream out) throws IOException {
+        return writeCsv(start, end, categories, out, null);
+    }
+
+    /**
+     * Same as {@link #writeCsv(LocalDate, LocalDate, List, OutputStream)}, reporting the
+     * running row count to {@code progress} every {@value #PROGRESS_INTERVAL_ROWS} rows.
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(LocalDate start, LocalDate end, List<String> categories, OutputStream out,
+                         LongConsumer progress) throws IOException {
+        long started = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write(LINE_SEPARATOR);
+
+        long count = 0;
+        try (Stream<ComplaintReportRow> rows = streamRows(start, end, categories)) {
+            Iterator<ComplaintReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                writeCsvRow(writer, it.next());
+                if (++count % PROGRESS_INTERVAL_ROWS == 0 && progress != null) {
+                    progress.accept(count);
+                }
+            }
+        }
+        writer.flush();
+        if (progress != null) {
+            progress.accept(count);
+        }
+        record(csvRenderTime, csvRows, started, count);
+        return count;
+    }
+
+    /**
+     * Writes the PDF report for complaints created between {@code start} and {@code end}
+     * (both inclusive) and returns the number of data rows written. The table is added
+     * to the document in chunks so finished pages reach the output while rows are still
+     * being read; every page carries a footer summarising the rows it contains.
+     */
+    @Transactional(readOnly = true)
+    public long writePdf(LocalDate start, LocalDate end, List<String> categories, OutputStream out) throws IOException {
+        return writePdf(start, end, categories, out, null);
+    }
+
+    /**
+     * Same as {@link #writePdf(LocalDate, LocalDate, List, OutputStream)}, reporting the
+     * running row count to {@code progress} every {@value #PROGRESS_INTERVAL_ROWS} rows.
+     */
+    @Transactional(readOnly = true)
+    public long writePdf(LocalDate start, LocalDate end, List<String> categories, OutputStream out,
+                         LongConsumer progress) throws IOException {
+        long started = System.nanoTime();
+        long total = countRows(start, end, categories);
+
+        Document document = new Document();
+        PageSummary summary = new PageSummary();
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            writer.setPageEvent(summary);
+            document.open();
+
+            Paragraph title = new Paragraph("COMPLAINTS REPORT", TITLE_FONT);
+            title.setAlignment(Element.ALIGN_CENTER);
+            document.add(title);
+
+            document.add(new Paragraph(" "));
+
+            Paragraph period = new Paragraph("Report Period: " + start + " to " + end, NORMAL_FONT);
+            period.setAlignment(Element.ALIGN_CENTER);
+            document.add(period);
+
+            Paragraph totalLine = new Paragraph("Total Complaints: " + total, NORMAL_FONT);
+            totalLine.setAlignment(Element.ALIGN_CENTER);
+            document.add(totalLine);
+
+            document.add(new Paragraph(" "));
+
+            PdfPTable table = new PdfPTable(PDF_COLUMN_WIDTHS.length);
+            table.setWidthPercentage(100);
+            table.setWidths(PDF_COLUMN_WIDTHS);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            table.setTableEvent(summary);
+
+            table.addCell(new PdfPCell(new Phrase("ID", HEADER_FONT)));
+            table.addCell(new PdfPCell(new Phrase("Subject", HEADER_FONT)));
+            table.addCell(new PdfPCell(new Phrase("Category", HEADER_FONT)));
+            table.addCell(new PdfPCell(new Phrase("Priority", HEADER_FONT)));
+            table.addCell(new PdfPCell(new Phrase("Status", HEADER_FONT)));
+            table.addCell(new PdfPCell(new Phrase("Created Date", HEADER_FONT)));
+
+            long count = 0;
+            try (Stream<ComplaintReportRow> rows = streamRows(start, end, categories)) {
+                Iterator<ComplaintReportRow> it = rows.iterator();
+                while (it.hasNext()) {
+                    ComplaintReportRow row = it.next();
+                    table.addCell(new PdfPCell(new Phrase(String.valueOf(row.id()), NORMAL_FONT)));
+                    table.addCell(new PdfPCell(new Phrase(row.subject() != null ? row.subject() : "", NORMAL_FONT)));
+                    table.addCell(new PdfPCell(new Phrase(row.category() != null ? row.category() : "", NORMAL_FONT)));
+                    table.addCell(new PdfPCell(new Phrase(row.priority() != null ? row.priority() : "", NORMAL_FONT)));
+                    table.addCell(new PdfPCell(new Phrase(row.status() != null ? row.status() : "", NORMAL_FONT)));
+                    table.addCell(new PdfPCell(new Phrase(row.createdAt().format(PDF_DATE_FORMAT), NORMAL_FONT)));
+                    summary.rowAdded(row.status());
+                    if (++count % PDF_FLUSH_ROWS == 0) {
+                        // Lays out the buffered rows and drops them from the table.
+                        document.add(table);
+                    }
+                    if (count % PROGRESS_INTERVAL_ROWS == 0 && progress != null) {
+                        progress.accept(count);
+                    }
+                }
+            }
+
+            table.setComplete(true);
+            document.add(table);
+            document.close();
+            if (progress != null) {
+                progress.accept(count);
+            }
+            record(pdfRenderTime, pdfRows, started, count);
+            return count;
+        } catch (DocumentException e) {
+            throw new IOException("Error generating PDF", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countRows(LocalDate start, LocalDate end, List<String> categories) {
+        boolean allCategories = categories == null || categories.isEmpty();
+        return complaintRepository.countReportRows(
+                start.atStartOfDay(),
+                end.plusDays(1).atStartOfDay(),
+                allCategories,
+                allCategories ? List.of("") : categories);
+    }
+
+    Stream<ComplaintReportRow> streamRows(LocalDate start, LocalDate end, List<String> categories) {
+        boolean allCategories = categories == null || categories.isEmpty();
+        return complaintRepository.streamReportRows(
+                start.atStartOfDay(),
+                end.plusDays(1).atStartOfDay(),
+                allCategories,
+                allCategories ? List.of("") : categories);
+    }
+
+    private Timer renderTimer(String format) {
+        return Timer.builder("reports.render")
+                .description("Time to render a report, including reading its rows")
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary rowSummary(String format) {
+        return DistributionSummary.builder("reports.rows")
+                .description("Data rows per rendered report")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    private static void record(Timer renderTime, DistributionSummary rows, long started, long count) {
+        renderTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        rows.record(count);
+    }
+
+    static void writeCsvRow(Writer writer, ComplaintReportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writeQuoted(writer, escapeCSV(row.subject()));
+        writeQuoted(writer, row.category() != null ? row.category() : "");
+        writeQuoted(writer, row.priority() != null ? row.priority() : "");
+        writeQuoted(writer, row.status() != null ? row.status() : "");
+        writeQuoted(writer, row.submissionType() != null ? row.submissionType() : "");
+        writeQuoted(writer, row.createdAt().format(CSV_DATE_FORMAT));
+        writeQuoted(writer, row.submittedBy() != null ? row.submittedBy() : "Anonymous");
+        writeQuoted(writer, row.assignedTo() != null ? row.assignedTo() : "Unassigned");
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write(",\"");
+        writer.write(value);
+        writer.write('"');
+    }
+
+    public static String escapeCSV(String value) {
+        if (value == null) return "";
+        return value.replace("\"", "\\\"").replace("\n", " ").replace("\r", " ");
+    }
+
+    public static List<String> parseCategories(String categories) {
+        if (categories == null || categories.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(categories.split(","))
+                .filter(c -> !c.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tallies the rows iText actually places on each page and prints them as a footer.
+     * Only rows added but not yet laid out are buffered, so memory stays bounded by
+     * {@link #PDF_FLUSH_ROWS}.
+     */
+    private static final class PageSummary extends PdfPageEventHelper implements PdfPTableEvent {
+        private final ArrayDeque<String> pendingStatuses = new ArrayDeque<>();
+        private final Map<String, Integer> pageStatusCounts = new TreeMap<>();
+        private long rowsBeforePage;
+        private int pageRows;
+
+        void rowAdded(String status) {
+            pendingStatuses.add(status != null ? status : "Unknown");
+        }
+
+        @Override
+        public void tableLayout(PdfPTable table, float[][] widths, float[] heights, int headerRows, int rowStart,
+                                PdfContentByte[] canvases) {
+            int bodyRows = heights.length - 1 - headerRows;
+            for (int i = 0; i < bodyRows && !pendingStatuses.isEmpty(); i++) {
+                pageStatusCounts.merge(pendingStatuses.poll(), 1, Integer::sum);
+            }
+            pageRows += bodyRows;
+        }
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            StringBuilder footer = new StringBuilder("Page ").append(writer.getPageNumber());
+            if (pageRows > 0) {
+                footer.append(" | Rows ").append(rowsBeforePage + 1).append('-').append(rowsBeforePage + pageRows);
+                for (Map.Entry<String, Integer> entry : pageStatusCounts.entrySet()) {
+                    footer.append(" | ").append(entry.getKey()).append(": ").append(entry.getValue());
+                }
+            }
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_CENTER,
+                    new Phrase(footer.toString(), FOOTER_FONT),
+                    (document.left() + document.right()) / 2, document.bottom() - 18, 0);
+
+            rowsBeforePage += pageRows;
+            pageRows = 0;
+            pageStatusCounts.clear();
+        }
+    }
+}
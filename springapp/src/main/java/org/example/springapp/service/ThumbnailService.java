@@ -0,0 +1,225 @@
+package org.example.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.springapp.util.WorkerThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates downscaled JPEG previews of image attachments on a small bounded pool and
+ * caches them under {@code thumbs/} in the upload directory. Work that does not fit in
+ * the queue is dropped; the preview endpoint requeues it on the next request.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    @Autowired
+    private AttachmentStorageService attachmentStorageService;
+
+    @Value("${attachments.directory:uploads}")
+    private String directory;
+
+    @Value("${thumbnails.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${thumbnails.threads:2}")
+    private int threads;
+
+    @Value("${thumbnails.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private Path thumbDir;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        thumbDir = Paths.get(directory).toAbsolutePath().normalize().resolve("thumbs");
+        Files.createDirectories(thumbDir);
+        ThreadFactory threadFactory = WorkerThreads.factory("thumbnail-", virtualThreads);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = threadFactory.newThread(r);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public static boolean isImage(String reference) {
+        return MediaTypeFactory.getMediaType(reference)
+                .filter(type -> "image".equals(type.getType()) && !type.getSubtype().startsWith("svg"))
+                .isPresent();
+    }
+
+    /** Longest side of the thumbnails this instance renders, in pixels. */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Returns the cached thumbnail for the attachment, or null if it has not been generated.
+     */
+    public Path findThumbnail(String reference) {
+        Path thumbnail = thumbnailPath(reference);
+        return Files.isRegularFile(thumbnail) ? thumbnail : null;
+    }
+
+    /**
+     * Schedules thumbnail generation without blocking the caller. Non-images, existing
+     * thumbnails and work already queued are ignored.
+     */
+    public void enqueue(String reference) {
+        if (!isImage(reference) || findThumbnail(reference) != null || !pending.add(reference)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(reference);
+                } catch (Exception e) {
+                    log.warn("Thumbnail generation failed for {}", reference, e);
+                } finally {
+                    pending.remove(reference);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(reference);
+            log.debug("Thumbnail queue full, skipping {}", reference);
+        }
+    }
+
+    void generate(String reference) throws IOException {
+        Path source = attachmentStorageService.resolve(reference);
+        if (source == null || !Files.isRegularFile(source)) {
+            return;
+        }
+        BufferedImage image = readSubsampled(source);
+        if (image == null) {
+            return;
+        }
+
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path target = thumbnailPath(reference);
+        Path temp = Files.createTempFile(thumbDir, "thumb", ".part");
+        try {
+            writeJpeg(thumbnail, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Decodes only every n-th pixel of large images so a multi-megapixel screenshot
+     * never has to be held in memory at full resolution.
+     */
+    private BufferedImage readSubsampled(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.8f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path thumbnailPath(String reference) {
+        String hash = AttachmentStorageService.blobHash(reference);
+        String key = hash != null ? hash : sha256(reference);
+        return thumbDir.resolve(key + "_" + maxDimension + ".jpg");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
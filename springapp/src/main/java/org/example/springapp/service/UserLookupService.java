@@ -0,0 +1,58 @@
+package org.example.springapp.service;
+
+import org.example.springapp.dto.UserAccount;
+import org.example.springapp.dto.UserSummary;
+import org.example.springapp.entity.User;
+import org.example.springapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cached user lookups for logins, message senders and the officer roster. The caches
+ * hold immutable snapshots, bounded in size and age by {@code spring.cache.caffeine.spec}.
+ * Code that saves a user must call {@link #evict(User)} after the save has committed;
+ * the age bound only limits how long a missed eviction can serve stale data.
+ */
+@Service
+public class UserLookupService {
+
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+    public static final String OFFICERS = "officers";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Cacheable(cacheNames = USERS_BY_ID, unless = "#result == null")
+    public Optional<UserAccount> findById(Long id) {
+        return userRepository.findById(id).map(UserAccount::of);
+    }
+
+    @Cacheable(cacheNames = USERS_BY_USERNAME, unless = "#result == null")
+    public Optional<UserAccount> findByUsername(String username) {
+        return userRepository.findByUsername(username).map(UserAccount::of);
+    }
+
+    @Cacheable(cacheNames = OFFICERS, key = "'all'")
+    public List<UserSummary> getOfficers() {
+        return List.copyOf(userRepository.findSummariesByRole("officer"));
+    }
+
+    /**
+     * Drops the user's cached entries and the officer roster, which changes when an
+     * officer registers or a user's role changes.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_BY_ID, key = "#user.id"),
+            @CacheEvict(cacheNames = USERS_BY_USERNAME, key = "#user.username"),
+            @CacheEvict(cacheNames = OFFICERS, allEntries = true)
+    })
+    public void evict(User user) {
+    }
+}
@@ -1,18 +1,49 @@
 package org.example.springapp.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
-    
+
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 10_000;
+
     private final String SECRET = "mySecretKey123456789012345678901234567890";
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
     private final int jwtExpiration = 86400000;
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // Verified tokens keyed by SHA-256 digest, so raw bearer tokens are never retained;
+    // null when caching is disabled.
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil() {
+        this(DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @param cacheMaxEntries upper bound on cached verified tokens; 0 disables the cache
+     */
+    public JwtUtil(int cacheMaxEntries) {
+        this.verifiedTokens = cacheMaxEntries <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                // Each entry lives exactly as long as its token is valid.
+                .expireAfter(Expiry.<String, Claims>creating((digest, claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                .build();
+    }
 
     public String generateToken(String username, String role) {
         return Jwts.builder()
@@ -24,6 +55,30 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims. Tokens seen before are served from
+     * the cache until they expire, skipping signature verification.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public Claims parseToken(String token) {
+        if (verifiedTokens == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -37,25 +92,26 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, ClaimsResolver<T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.resolve(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, String username) {
+        final Claims claims = parseToken(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
-    public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @FunctionalInterface
     public interface ClaimsResolver<T> {
         T resolve(Claims claims);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package org.example.springapp.util;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Pins the current thread's read-only transactions to the primary database, so a user who
+ * just wrote does not read a replica that has not caught up yet. Work handed to another
+ * thread stays pinned only if it is wrapped with {@link #propagate(Callable)}.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Wraps a task so it reads from the primary on a pool thread whenever the submitting
+     * thread does.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> {
+            // A saturated pool may run the task on the submitting thread itself.
+            boolean previous = isPinned();
+            pin();
+            try {
+                return task.call();
+            } finally {
+                if (!previous) {
+                    unpin();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.springapp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Producers claim a slot
+ * with one compare-and-set and never block: when the buffer is full {@link #offer} returns
+ * false and the caller decides what to drop. Each slot carries a sequence number that tells
+ * producers and the consumer whose turn it is, so a slot is only read once its producer
+ * has published it and only reused once the consumer has taken it.
+ */
+public final class RingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only; volatile so size() can be read from other threads.
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the item unless the buffer is full. Safe to call from any number of threads.
+     *
+     * @return whether the item was added
+     */
+    public boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.setPlain(index, item);
+                    // Publishes the item: the consumer reads the slot only after seeing this.
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The consumer has not yet taken the item written here one lap ago.
+                return false;
+            } else {
+                // Another producer claimed this position first.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} items to {@code sink}, oldest first, and stops early at the
+     * first position whose producer has not published its item yet. Must only be called
+     * from one thread at a time.
+     *
+     * @return the number of items drained
+     */
+    public int drainTo(Consumer<? super T> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            T item = slots.getPlain(index);
+            slots.setPlain(index, null);
+            // Frees the slot for the producer that wraps around to it.
+            sequences.setRelease(index, position + capacity);
+            position++;
+            head = position;
+            drained++;
+            sink.accept(item);
+        }
+        return drained;
+    }
+
+    /** Items claimed but not yet drained; approximate while producers are active. */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
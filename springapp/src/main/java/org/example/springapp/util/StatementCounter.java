@@ -0,0 +1,65 @@
+package org.example.springapp.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #begin()} and {@link #end()}. Work handed to another thread is counted only if
+ * it is wrapped with {@link #propagate(Callable)}; a streaming report, for one, is not.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<AtomicLong> COUNT = new ThreadLocal<>();
+
+    public static void begin() {
+        COUNT.set(new AtomicLong());
+    }
+
+    /**
+     * @return the statements counted since {@link #begin()}, or 0 if counting was not started
+     */
+    public static long end() {
+        AtomicLong count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Wraps a task so the statements it issues on a pool thread count towards the
+     * submitting thread's total.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        AtomicLong count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            // A saturated pool may run the task on the submitting thread itself.
+            AtomicLong previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    COUNT.set(previous);
+                } else {
+                    COUNT.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicLong count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.springapp.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the services' background pools. With
+ * {@code spring.threads.virtual.enabled} the pools keep their size and queue limits but
+ * run on virtual threads, so work blocked on JDBC, disk or a slow socket does not hold
+ * an OS thread.
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * @param prefix thread name prefix; a counter starting at 1 is appended
+     */
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.springapp.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.example.springapp.entity.ComplaintStatus.IN_PROGRESS;
+import static org.example.springapp.entity.ComplaintStatus.NEW;
+import static org.example.springapp.entity.ComplaintStatus.RESOLVED;
+import static org.example.springapp.entity.ComplaintStatus.WITHDRAWN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ComplaintStatusTests {
+
+    /** Every status a complaint may move to from each status, itself included. */
+    private static final Map<ComplaintStatus, Set<ComplaintStatus>> ALLOWED = Map.of(
+            NEW, EnumSet.of(NEW, IN_PROGRESS, WITHDRAWN),
+            IN_PROGRESS, EnumSet.of(IN_PROGRESS, RESOLVED, WITHDRAWN),
+            RESOLVED, EnumSet.of(RESOLVED, IN_PROGRESS),
+            WITHDRAWN, EnumSet.of(WITHDRAWN));
+
+    @Test
+    void canMoveToFollowsTheLifecycle() {
+        for (ComplaintStatus from : ComplaintStatus.values()) {
+            for (ComplaintStatus to : ComplaintStatus.values()) {
+                assertEquals(ALLOWED.get(from).contains(to), from.canMoveTo(to), from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void parseAcceptsAnyCasing() {
+        assertEquals(NEW, ComplaintStatus.parse("new"));
+        assertEquals(NEW, ComplaintStatus.parse("New"));
+        assertEquals(IN_PROGRESS, ComplaintStatus.parse("IN PROGRESS"));
+        assertEquals(IN_PROGRESS, ComplaintStatus.parse("In Progress"));
+        assertEquals(IN_PROGRESS, ComplaintStatus.parse("in_progress"));
+        assertEquals(IN_PROGRESS, ComplaintStatus.parse("IN_PROGRESS"));
+        assertEquals(RESOLVED, ComplaintStatus.parse(" Resolved "));
+        assertEquals(WITHDRAWN, ComplaintStatus.parse("withDrawn"));
+    }
+
+    @Test
+    void labelsParseBackToTheirStatus() {
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            assertEquals(status, ComplaintStatus.parse(status.label()));
+        }
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "CLOSED", "INPROGRESS", "IN  PROGRESS", "ESCALATED"})
+    void parseRejectsUnknownStatuses(String value) {
+        assertThrows(IllegalArgumentException.class, () -> ComplaintStatus.parse(value));
+    }
+}
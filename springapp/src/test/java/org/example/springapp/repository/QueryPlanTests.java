@@ -0,0 +1,335 @@
+package org.example.springapp.repository;
+
+import org.example.springapp.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries against a seeded MySQL schema and checks their EXPLAIN
+ * output, so an entity or query change that loses an index fails here instead of in
+ * production. Every statement a call issues is explained with the parameters it was
+ * actually bound with; no table may be read with a full scan ({@code type = ALL}) and
+ * no step may need a filesort.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost:3306/infosys_explain?createDatabaseIfNotExist=true&rewriteBatchedStatements=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    private static final int OFFICERS = 50;
+    private static final int CITIZENS = 500;
+    private static final int COMPLAINTS = 20_000;
+    private static final int MESSAGES_PER_COMPLAINT = 3;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ComplaintHistoryRepository historyRepository;
+
+    @Autowired
+    private RecordingDataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource.getTargetDataSource());
+        jdbc.execute("SET FOREIGN_KEY_CHECKS = 0");
+        for (String table : List.of("complaint_history", "messages", "complaints", "users")) {
+            jdbc.execute("TRUNCATE TABLE " + table);
+        }
+        jdbc.execute("SET FOREIGN_KEY_CHECKS = 1");
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= OFFICERS + CITIZENS; i++) {
+            users.add(new Object[]{(long) i, "user" + i, "x", i <= OFFICERS ? "officer" : "user"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, username, password, role) VALUES (?, ?, ?, ?)", users);
+
+        // Roughly the shape of a live system: most complaints are closed out, a few are open.
+        Random random = new Random(42);
+        String[] statuses = {"RESOLVED", "RESOLVED", "RESOLVED", "RESOLVED", "RESOLVED", "RESOLVED", "CLOSED", "NEW", "IN PROGRESS", "WITHDRAWN"};
+        String[] priorities = {"High", "Medium", "Low"};
+        String[] categories = {"General", "Water", "Roads", "Electricity", "Sanitation"};
+        LocalDateTime origin = LocalDateTime.now().minusDays(730);
+        List<Object[]> complaints = new ArrayList<>();
+        List<Object[]> messages = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        for (long id = 1; id <= COMPLAINTS; id++) {
+            String status = statuses[random.nextInt(statuses.length)];
+            LocalDateTime createdAt = origin.plusMinutes(random.nextInt(730 * 24 * 60));
+            Long assignee = "NEW".equals(status) ? null : (long) (1 + random.nextInt(OFFICERS));
+            long citizen = OFFICERS + 1 + random.nextInt(CITIZENS);
+            complaints.add(new Object[]{id, "subject " + id, "description", "Public", status,
+                    priorities[random.nextInt(priorities.length)], categories[random.nextInt(categories.length)],
+                    Timestamp.valueOf(createdAt), citizen, assignee});
+            for (int m = 0; m < MESSAGES_PER_COMPLAINT; m++) {
+                boolean isPublic = random.nextBoolean();
+                messages.add(new Object[]{(long) messages.size() + 1, "message", isPublic ? "PUBLIC" : "PRIVATE",
+                        Timestamp.valueOf(createdAt.plusHours(m + 1)), id,
+                        assignee != null ? assignee : citizen, isPublic ? null : citizen});
+            }
+            history.add(new Object[]{id, "SUBMITTED", "NEW", Timestamp.valueOf(createdAt)});
+            if (!"NEW".equals(status)) {
+                history.add(new Object[]{id, "STATUS_CHANGED", status, Timestamp.valueOf(createdAt.plusHours(4))});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO complaints (id, subject, description, submission_type, status, priority, category, " +
+                "created_at, user_id, assigned_to) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", complaints);
+        jdbc.batchUpdate("INSERT INTO messages (id, content, message_type, created_at, complaint_id, sender_id, recipient_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", messages);
+        jdbc.batchUpdate("INSERT INTO complaint_history (complaint_id, event_type, status, occurred_at) " +
+                "VALUES (?, ?, ?, ?)", history);
+
+        for (String table : List.of("users", "complaints", "messages", "complaint_history")) {
+            jdbc.queryForList("ANALYZE TABLE " + table);
+        }
+    }
+
+    @Test
+    void complaintsBySubmitter() {
+        assertIndexed(() -> complaintRepository.findByUserIdOrderByCreatedAtDesc((long) OFFICERS + 7));
+    }
+
+    @Test
+    void complaintsByAssignee() {
+        assertIndexed(() -> complaintRepository.findByAssignedToId(3L));
+    }
+
+    @Test
+    void countByStatus() {
+        assertIndexed(() -> complaintRepository.countByStatus("NEW"));
+    }
+
+    @Test
+    void attachmentPathById() {
+        assertIndexed(() -> complaintRepository.findAttachmentPathById(11L));
+    }
+
+    @Test
+    void complaintTimeline() {
+        assertIndexed(() -> complaintRepository.findCreatedAtById(11L));
+        assertIndexed(() -> historyRepository.findTimeline(11L));
+    }
+
+    @Test
+    void countsGroupedByAssigneeAndStatus() {
+        // Aggregates every row by design; satisfied by a covering index scan.
+        assertIndexed(() -> complaintRepository.countGroupedByAssigneeAndStatus());
+    }
+
+    @Test
+    void escalationCandidates() {
+        assertIndexed(() -> complaintRepository.findEscalationCandidates());
+        assertIndexed(() -> complaintRepository.findEscalationCandidate(5L));
+        assertIndexed(() -> new TransactionTemplate(transactionManager).execute(status ->
+                complaintRepository.markEscalated(5L, LocalDateTime.now())));
+    }
+
+    @Test
+    void bulkUpdates() {
+        List<Long> ids = List.of(5L, 70L, 900L, 12_000L);
+        assertIndexed(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            complaintRepository.findStatesForUpdate(ids);
+            return complaintRepository.updateStatusAll(ids, "RESOLVED");
+        }));
+    }
+
+    @Test
+    void conditionalTransitions() {
+        assertIndexed(() -> complaintRepository.findState(70L));
+        assertIndexed(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            return complaintRepository.updateStatusIf(70L, "IN PROGRESS", 0L, "RESOLVED");
+        }));
+    }
+
+    @Test
+    void keysetPages() {
+        LocalDateTime cursorAt = LocalDateTime.now().minusDays(100);
+        KeysetCursor cursor = new KeysetCursor(cursorAt, 10_000L);
+        assertIndexed(() -> complaintRepository.findPage(null, null, null, null, null, null,
+                null, null, PageRequest.of(0, 26)));
+        assertIndexed(() -> complaintRepository.findPage(null, null, null, null, null, null,
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 26)));
+        assertIndexed(() -> complaintRepository.findPage("IN PROGRESS", null, null, null, null, null,
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 26)));
+    }
+
+    @Test
+    void reportRows() {
+        LocalDateTime from = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime to = LocalDate.now().atStartOfDay();
+        assertIndexed(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<?> rows = complaintRepository.streamReportRows(from, to, true, List.of(""))) {
+                return rows.count();
+            }
+        }));
+        assertIndexed(() -> complaintRepository.countReportRows(from, to, false, List.of("Water", "Roads")));
+    }
+
+    @Test
+    void messagesByComplaint() {
+        assertIndexed(() -> messageRepository.findPublicMessagesByComplaintId(123L));
+        assertIndexed(() -> messageRepository.findPrivateMessagesByComplaintId(123L));
+        assertIndexed(() -> messageRepository.findMessagesByComplaintIdAndUserId(123L, (long) OFFICERS + 7));
+    }
+
+    @Test
+    void messageCursors() {
+        LocalDateTime cursorAt = LocalDateTime.now().minusDays(200);
+        assertIndexed(() -> messageRepository.findByTypeAfter(123L, "PUBLIC", cursorAt, 100L, PageRequest.of(0, 51)));
+        assertIndexed(() -> messageRepository.findByTypeBefore(123L, "PRIVATE", null, null, PageRequest.of(0, 51)));
+        assertIndexed(() -> messageRepository.findForUserAfter(123L, (long) OFFICERS + 7, cursorAt, 100L, PageRequest.of(0, 51)));
+        assertIndexed(() -> messageRepository.findForUserBefore(123L, (long) OFFICERS + 7, cursorAt, 100L, PageRequest.of(0, 51)));
+    }
+
+    private void assertIndexed(Runnable call) {
+        List<RecordedStatement> statements = dataSource.record(call);
+        assertFalse(statements.isEmpty(), "call issued no SQL");
+        for (RecordedStatement statement : statements) {
+            List<Map<String, Object>> plan = explain(statement);
+            for (Map<String, Object> row : plan) {
+                String extra = String.valueOf(row.get("Extra"));
+                assertTrue(!"ALL".equals(row.get("type")) && !extra.contains("filesort"),
+                        "Unindexed access to " + row.get("table") + " (" + row.get("type") + ", " + extra + ")\n"
+                                + statement.sql + "\n" + plan);
+            }
+        }
+    }
+
+    private List<Map<String, Object>> explain(RecordedStatement statement) {
+        return jdbc.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.sql);
+            for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                ps.setObject(parameter.getKey(), parameter.getValue());
+            }
+            return ps;
+        }, (rs, rowNum) -> Map.of(
+                "table", String.valueOf(rs.getString("table")),
+                "type", String.valueOf(rs.getString("type")),
+                "Extra", String.valueOf(rs.getString("Extra"))));
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Captures the SQL and bound parameters of every prepared statement executed while
+     * {@link #record} runs.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private volatile List<RecordedStatement> recorded;
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        synchronized List<RecordedStatement> record(Runnable call) {
+            recorded = new ArrayList<>();
+            try {
+                call.run();
+                return recorded;
+            } finally {
+                recorded = null;
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                            return wrap((PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute") && recorded != null) {
+                            recorded.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.springapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.springapp.event.ComplaintChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that an entry the database refuses is dropped on its own while the rest of its
+ * batch is still written.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost:3306/infosys_test?createDatabaseIfNotExist=true&rewriteBatchedStatements=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ComplaintHistoryServiceTests {
+
+    @Autowired
+    private ComplaintHistoryService historyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void aRefusedEntryDoesNotHoldUpItsBatch() throws InterruptedException {
+        long complaintId = 4_200_000L + System.nanoTime() % 100_000;
+        double rejectedBefore = rejected();
+
+        // The third actor is longer than the actor column, so the database refuses that entry.
+        for (String actor : List.of("alice", "bob", "x".repeat(300), "carol", "dave")) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(actor, null, List.of()));
+            historyService.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangedEvent.Type.STATUS_CHANGED,
+                    complaintId, "NEW", "IN PROGRESS", null, null));
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (actors(complaintId).size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(List.of("alice", "bob", "carol", "dave"), actors(complaintId));
+        assertEquals(rejectedBefore + 1, rejected());
+    }
+
+    private List<String> actors(long complaintId) {
+        return jdbcTemplate.queryForList("SELECT actor FROM complaint_history WHERE complaint_id = ? ORDER BY id",
+                String.class, complaintId);
+    }
+
+    private double rejected() {
+        return meterRegistry.counter("complaint.history.rejected").count();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.springapp.service;
+
+import org.example.springapp.entity.ImportJob;
+import org.example.springapp.entity.User;
+import org.example.springapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports a file in chunks of three records where the second complaint spans the chunk
+ * boundary and the third fails to insert, so the committed checkpoint shows where the
+ * chunks were cut and what a resume has to skip.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost:3306/infosys_test?createDatabaseIfNotExist=true&rewriteBatchedStatements=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "imports.directory=target/test-imports",
+        "imports.chunk-records=3"
+})
+class ComplaintImportServiceTests {
+
+    private static final String CITIZEN = "import-citizen";
+    private static final Path IMPORTS = Path.of("target/test-imports");
+
+    @Autowired
+    private ComplaintImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tag;
+
+    /** Job ids restart with the schema, so files that failed imports left behind would collide. */
+    @BeforeAll
+    static void clearImports() throws IOException {
+        FileSystemUtils.deleteRecursively(IMPORTS);
+    }
+
+    @BeforeEach
+    void createCitizen() {
+        if (userRepository.findByUsername(CITIZEN).isEmpty()) {
+            User user = new User();
+            user.setUsername(CITIZEN);
+            user.setPassword("x");
+            user.setRole("citizen");
+            userRepository.save(user);
+        }
+        tag = UUID.randomUUID().toString();
+    }
+
+    @Test
+    void chunksNeverSplitAComplaintFromItsMessages() throws Exception {
+        ImportJob job = await(importService.submit(csv(false), "legacy.csv").getId());
+
+        assertEquals(ComplaintImportService.Status.FAILED.name(), job.getStatus());
+        // The chunk grew past three records to keep all of complaint B's lines together.
+        assertEquals(4, job.getRecordsCommitted());
+        assertEquals(2, job.getComplaintsImported());
+        assertEquals(4, job.getMessagesImported());
+        assertEquals(List.of("A=1", "B=3"), imported());
+    }
+
+    @Test
+    void resumeSkipsExactlyTheCommittedRecords() throws Exception {
+        Long id = await(importService.submit(csv(false), "legacy.csv").getId()).getId();
+        Files.copy(csv(true), IMPORTS.resolve(id + ".csv"), StandardCopyOption.REPLACE_EXISTING);
+
+        importService.resume(id).orElseThrow();
+        ImportJob job = await(id);
+
+        assertEquals(ComplaintImportService.Status.DONE.name(), job.getStatus());
+        assertEquals(6, job.getRecordsCommitted());
+        assertEquals(3, job.getComplaintsImported());
+        assertEquals(6, job.getMessagesImported());
+        assertEquals(0, job.getRecordsRejected());
+        assertEquals(List.of("A=1", "B=3", "C=2"), imported());
+    }
+
+    /**
+     * Complaint A with one message, B with three and C with two. Unless {@code valid}, C's
+     * subject is too long for its column, so the chunk holding C fails to insert.
+     */
+    private ByteArrayInputStream csv(boolean valid) {
+        String subjectC = valid ? "C" : "C" + "x".repeat(300);
+        String content = ReportService.CSV_HEADER + ",Message From,Message\n"
+                + line(1, "A", "a1")
+                + line(2, "B", "b1") + line(2, "B", "b2") + line(2, "B", "b3")
+                + line(3, subjectC, "c1") + line(3, subjectC, "c2");
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String line(int id, String subject, String message) {
+        return String.join(",", String.valueOf(id), tag + " " + subject, "General", "Medium", "NEW", "Public",
+                "01-02-2024", CITIZEN, "Unassigned", CITIZEN, message) + "\n";
+    }
+
+    /** Each imported complaint of this test as subject=messages, in import order. */
+    private List<String> imported() {
+        return jdbcTemplate.queryForList("SELECT CONCAT(SUBSTRING(c.subject, ?), '=', COUNT(m.id)) " +
+                        "FROM complaints c LEFT JOIN messages m ON m.complaint_id = c.id " +
+                        "WHERE c.subject LIKE ? GROUP BY c.id, c.subject ORDER BY c.id",
+                String.class, tag.length() + 2, tag + " %");
+    }
+
+    private ImportJob await(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            ImportJob job = importService.getJob(id).orElseThrow();
+            boolean finished = !job.getStatus().equals(ComplaintImportService.Status.QUEUED.name())
+                    && !job.getStatus().equals(ComplaintImportService.Status.RUNNING.name());
+            if (finished || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.springapp.service;
+
+import org.example.springapp.dto.ComplaintState;
+import org.example.springapp.entity.Complaint;
+import org.example.springapp.entity.ComplaintStatus;
+import org.example.springapp.entity.User;
+import org.example.springapp.repository.ComplaintRepository;
+import org.example.springapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Checks that status changes and assignments apply only to the version they were based
+ * on: a stale client version is refused up front, and a change that loses a race with
+ * another writer between its read and its conditional UPDATE updates nothing and fails.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mysql://localhost:3306/infosys_test?createDatabaseIfNotExist=true&rewriteBatchedStatements=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ComplaintTransitionServiceTests {
+
+    @Autowired
+    private ComplaintTransitionService transitionService;
+
+    @MockitoSpyBean
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User officer;
+    private Long complaintId;
+
+    @BeforeEach
+    void createComplaint() {
+        officer = userRepository.findByUsername("transition-officer").orElseGet(() -> {
+            User user = new User();
+            user.setUsername("transition-officer");
+            user.setPassword("x");
+            user.setRole("officer");
+            return userRepository.save(user);
+        });
+        Complaint complaint = new Complaint();
+        complaint.setSubject("Streetlight out");
+        complaint.setSubmissionType("Anonymous");
+        complaintId = complaintRepository.save(complaint).getId();
+    }
+
+    @Test
+    void changeStatusBumpsTheVersion() {
+        ComplaintState previous = transitionService.changeStatus(complaintId, ComplaintStatus.WITHDRAWN, 0L).orElseThrow();
+
+        assertEquals("NEW", previous.status());
+        assertEquals(0, previous.version());
+        ComplaintState current = state();
+        assertEquals("WITHDRAWN", current.status());
+        assertEquals(1, current.version());
+    }
+
+    @Test
+    void changeStatusRejectsAStaleVersion() {
+        bumpVersion();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> transitionService.changeStatus(complaintId, ComplaintStatus.WITHDRAWN, 0L));
+        assertEquals("NEW", state().status());
+    }
+
+    @Test
+    void assignRejectsAStaleVersion() {
+        bumpVersion();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> transitionService.assign(complaintId, officer, 0L));
+        ComplaintState current = state();
+        assertEquals("NEW", current.status());
+        assertNull(current.assigneeId());
+    }
+
+    @Test
+    void changeStatusFailsWhenTheComplaintChangesAfterItWasRead() {
+        bumpVersionAfterNextRead();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> transitionService.changeStatus(complaintId, ComplaintStatus.WITHDRAWN, null));
+        ComplaintState current = state();
+        assertEquals("NEW", current.status());
+        assertEquals(1, current.version());
+    }
+
+    @Test
+    void assignFailsWhenTheComplaintChangesAfterItWasRead() {
+        bumpVersionAfterNextRead();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> transitionService.assign(complaintId, officer, null));
+        ComplaintState current = state();
+        assertEquals("NEW", current.status());
+        assertNull(current.assigneeId());
+        assertEquals(1, current.version());
+    }
+
+    @Test
+    void conditionalUpdatesMatchNoRowAfterAConcurrentBump() {
+        bumpVersion();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int staleStatus = transaction.execute(status ->
+                complaintRepository.updateStatusIf(complaintId, "NEW", 0L, "WITHDRAWN"));
+        int staleAssign = transaction.execute(status ->
+                complaintRepository.assignIf(complaintId, "NEW", 0L, officer));
+        int current = transaction.execute(status ->
+                complaintRepository.updateStatusIf(complaintId, "NEW", 1L, "WITHDRAWN"));
+        assertEquals(0, staleStatus);
+        assertEquals(0, staleAssign);
+        assertEquals(1, current);
+    }
+
+    @Test
+    void movesOutsideTheLifecycleAreRefused() {
+        transitionService.changeStatus(complaintId, ComplaintStatus.WITHDRAWN, null);
+
+        assertThrows(IllegalStateException.class,
+                () -> transitionService.changeStatus(complaintId, ComplaintStatus.IN_PROGRESS, null));
+        assertTrue(transitionService.changeStatus(complaintId + 1_000_000, ComplaintStatus.RESOLVED, null).isEmpty());
+    }
+
+    /** The committed state, read past the repository so stubs cannot interfere. */
+    private ComplaintState state() {
+        return jdbcTemplate.queryForObject("SELECT status, assigned_to, version FROM complaints WHERE id = ?",
+                (rs, rowNum) -> new ComplaintState(complaintId, rs.getString("status"),
+                        rs.getObject("assigned_to", Long.class), rs.getLong("version")),
+                complaintId);
+    }
+
+    /** Another writer changes the complaint, committed on its own connection. */
+    private void bumpVersion() {
+        CompletableFuture.runAsync(() ->
+                jdbcTemplate.update("UPDATE complaints SET version = version + 1 WHERE id = ?", complaintId)).join();
+    }
+
+    /** Lets the service read the complaint, then commits another writer's change before it updates. */
+    private void bumpVersionAfterNextRead() {
+        ComplaintState read = state();
+        doAnswer(invocation -> {
+            bumpVersion();
+            return Optional.of(read);
+        }).when(complaintRepository).findState(complaintId);
+    }
+}
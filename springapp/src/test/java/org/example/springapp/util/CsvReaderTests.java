@@ -0,0 +1,85 @@
+package org.example.springapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTests {
+
+    @Test
+    void splitsRecordsAndKeepsEmptyFields() throws IOException {
+        CsvReader csv = reader("a,b,c\n,x,\nlast");
+
+        assertEquals(List.of("a", "b", "c"), csv.next());
+        assertEquals(List.of("", "x", ""), csv.next());
+        assertEquals(List.of("last"), csv.next());
+        assertNull(csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        CsvReader csv = reader("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n");
+
+        assertEquals(List.of("say \"hi\"", "\"", ""), csv.next());
+    }
+
+    @Test
+    void unescapesBackslashQuotesAndKeepsOtherBackslashes() throws IOException {
+        CsvReader csv = reader("\"C:\\dir \\\"quoted\\\"\",\"ends with \\\"\"\n");
+
+        assertEquals(List.of("C:\\dir \"quoted\"", "ends with \""), csv.next());
+    }
+
+    @Test
+    void quotedFieldsKeepSeparatorsAndLineBreaks() throws IOException {
+        CsvReader csv = reader("1,\"one, two\nthree\r\nfour\",x\n2,y,z\n");
+
+        assertEquals(List.of("1", "one, two\nthree\r\nfour", "x"), csv.next());
+        assertEquals(1, csv.getRecordLine());
+        assertEquals(List.of("2", "y", "z"), csv.next());
+        assertEquals(4, csv.getRecordLine());
+    }
+
+    @Test
+    void acceptsCrLfAndSkipsBlankLines() throws IOException {
+        CsvReader csv = reader("a,b\r\n\r\n\r\nc,d\r\ne\r\n");
+
+        assertEquals(List.of("a", "b"), csv.next());
+        assertEquals(1, csv.getRecordLine());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertEquals(4, csv.getRecordLine());
+        assertEquals(List.of("e"), csv.next());
+        assertEquals(5, csv.getRecordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void readsFieldsLongerThanItsBuffer() throws IOException {
+        String longField = "x".repeat(200_000);
+        CsvReader csv = reader("\"" + longField + "\"\"\"\r\nnext\n");
+
+        assertEquals(List.of(longField + "\""), csv.next());
+        assertEquals(List.of("next"), csv.next());
+        assertEquals(2, csv.getRecordLine());
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotedField() throws IOException {
+        CsvReader csv = reader("ok\n\"never\nclosed");
+
+        assertEquals(List.of("ok"), csv.next());
+        IOException e = assertThrows(IOException.class, csv::next);
+        assertEquals("Unterminated quoted field starting on line 2", e.getMessage());
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new StringReader(content));
+    }
+}
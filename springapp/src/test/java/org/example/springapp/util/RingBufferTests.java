@@ -0,0 +1,120 @@
+package org.example.springapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTests {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(1, new RingBuffer<>(1).capacity());
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void offerFailsWhenFullUntilAnItemIsDrained() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained::add, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        assertEquals(4, buffer.drainTo(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(drained::add, 10));
+    }
+
+    /**
+     * Producers offer concurrently into a small buffer, retrying whenever it is full, while
+     * one consumer drains it. Every item must arrive exactly once and each producer's items
+     * in the order it offered them.
+     */
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Long> buffer = new RingBuffer<>(64);
+        int[] received = new int[producers];
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers + 1);
+        try {
+            CompletableFuture<Integer> consumer = CompletableFuture.supplyAsync(() -> {
+                int[] count = {0};
+                while (true) {
+                    boolean finished = done.get();
+                    buffer.drainTo(item -> {
+                        int producer = (int) (item >>> 32);
+                        int sequence = (int) (long) item;
+                        // Out of order means an item was lost, repeated or overtaken.
+                        assertEquals(received[producer], sequence, "producer " + producer);
+                        received[producer]++;
+                        count[0]++;
+                    }, 256);
+                    if (finished && buffer.size() == 0) {
+                        return count[0];
+                    }
+                    Thread.yield();
+                }
+            }, pool);
+
+            List<CompletableFuture<Void>> offering = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                offering.add(CompletableFuture.runAsync(() -> {
+                    awaitQuietly(start);
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(producer << 32 | i)) {
+                            if (consumer.isDone()) {
+                                // The consumer failed; its exception is reported below.
+                                return;
+                            }
+                            Thread.yield();
+                        }
+                    }
+                }, pool));
+            }
+            start.countDown();
+            CompletableFuture.allOf(offering.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            done.set(true);
+
+            assertEquals(producers * perProducer, consumer.get(30, TimeUnit.SECONDS));
+            int[] expected = new int[producers];
+            Arrays.fill(expected, perProducer);
+            assertArrayEquals(expected, received);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}